@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+/**
+ * Alias table for drawing from a fixed discrete distribution in constant time,
+ * built with Vose's alias method. Each column holds the probability of keeping
+ * its own index and the index to use instead, so a draw picks a column and
+ * then flips a single biased coin.
+ * <p>
+ * The table is never modified after it is built, so one table can be shared
+ * by many threads.
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public final class AliasTable {
+
+    private final double[] probability;
+
+    private final int[] alias;
+
+    /**
+     * Build an alias table from a set of weights. The weights do not need to
+     * add up to one; each index is drawn in proportion to its weight.
+     *
+     * @param weights Weight of each index, must be finite and non-negative
+     * @throws IllegalArgumentException Thrown if weights is null or empty, if
+     * a weight is negative or not finite, or if all weights are zero
+     */
+    public AliasTable(double[] weights) {
+
+        if (weights == null || weights.length == 0) {
+            throw new IllegalArgumentException("Weights cannot be empty");
+        }
+
+        int n = weights.length;
+        double sum = 0.0;
+        for (double weight : weights) {
+            if (!(weight >= 0.0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Weights must be finite and non-negative");
+            }
+            sum += weight;
+        }
+        if (sum <= 0.0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+
+        probability = new double[n];
+        alias = new int[n];
+
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallSize = 0;
+        int largeSize = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / sum;
+            if (scaled[i] < 1.0) {
+                small[smallSize++] = i;
+            } else {
+                large[largeSize++] = i;
+            }
+        }
+
+        while (smallSize > 0 && largeSize > 0) {
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+
+            probability[less] = scaled[less];
+            alias[less] = more;
+
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallSize++] = more;
+            } else {
+                large[largeSize++] = more;
+            }
+        }
+
+        // whatever is left over is one up to rounding error
+        while (largeSize > 0) {
+            int index = large[--largeSize];
+            probability[index] = 1.0;
+            alias[index] = index;
+        }
+        while (smallSize > 0) {
+            int index = small[--smallSize];
+            probability[index] = 1.0;
+            alias[index] = index;
+        }
+    }
+
+    /**
+     * Get the number of indexes in the table
+     *
+     * @return Number of indexes
+     */
+    public int size() {
+        return probability.length;
+    }
+
+    /**
+     * Get the chance of drawing an index, as rebuilt from the table
+     *
+     * @param index Index to check
+     * @return Chance from 0.0 to 1.0 of drawing this index
+     * @throws IndexOutOfBoundsException Thrown if index is not in the table
+     */
+    public double getProbability(int index) {
+
+        if (index < 0 || index >= probability.length) {
+            throw new IndexOutOfBoundsException("Index " + index + " is not in the table");
+        }
+
+        double chance = probability[index];
+        for (int column = 0; column < alias.length; column++) {
+            if (alias[column] == index && column != index) {
+                chance += 1.0 - probability[column];
+            }
+        }
+
+        return chance / probability.length;
+    }
+
+    /**
+     * Draw a random index from the table
+     *
+     * @param rng Random source to draw from
+     * @return Index from 0 to size - 1
+     */
+    public int sample(RandomSource rng) {
+
+        int column = rng.nextInt(probability.length);
+        return rng.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+    /**
+     * Fill a buffer with random indexes from the table
+     *
+     * @param rng Random source to draw from
+     * @param buffer Buffer to fill
+     */
+    public void sample(RandomSource rng, int[] buffer) {
+        for (int i = 0; i < buffer.length; i++) {
+            buffer[i] = sample(rng);
+        }
+    }
+}
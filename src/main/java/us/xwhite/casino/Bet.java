@@ -38,6 +38,12 @@ public final class Bet {
 
     private final Player player;
 
+    // store and epoch this bet was last placed in, so a table can spot the
+    // same bet placed twice without keeping a set of bets
+    private BetStore placedIn;
+
+    private int placedEpoch;
+
     /**
      * Create a bet with the amount on the outcome
      *
@@ -92,6 +98,26 @@ public final class Bet {
         return outcome;
     }
 
+    /**
+     * Mark this bet as placed in an epoch of a bet store
+     *
+     * @param store Bet store the bet is placed in
+     * @return True if the bet was marked, false if it has already been placed
+     * in the current epoch of the store. Only the last store is remembered, so
+     * a bet moved between tables in one spin is not seen as a duplicate.
+     */
+    boolean markPlaced(BetStore store) {
+
+        int epoch = store.getEpoch();
+        if (placedIn == store && placedEpoch == epoch) {
+            return false;
+        }
+
+        placedIn = store;
+        placedEpoch = epoch;
+        return true;
+    }
+
     /**
      * Returns the string representation of this object
      *
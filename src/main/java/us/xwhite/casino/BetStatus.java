@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+/**
+ * Result of trying to place a bet on a {@link Table}
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public enum BetStatus {
+
+    /**
+     * The bet was placed on the table
+     */
+    ACCEPTED,
+
+    /**
+     * The bet was rejected because it would put the player over the table
+     * limit
+     */
+    OVER_LIMIT,
+
+    /**
+     * The bet was rejected because it has already been placed
+     */
+    DUPLICATE,
+
+    /**
+     * The bet was rejected because there was no bet to place, or it had no
+     * amount, outcome or player
+     */
+    INVALID;
+
+    /**
+     * Determine if the bet was placed
+     *
+     * @return True if the bet was placed on the table, false otherwise
+     */
+    public boolean isAccepted() {
+        return this == ACCEPTED;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+import java.util.Arrays;
+
+/**
+ * Storage for the bets on a table, kept as parallel arrays of amounts,
+ * outcome ids and seat numbers. Bets are read back with an index loop from 0
+ * to {@link #size()}. Clearing resets the size and bumps the epoch counter,
+ * so the arrays are reused from one spin to the next.
+ * <p>
+ * Rows past the current size are never read, so clearing does not erase the
+ * amounts, outcome ids and seats; they are overwritten as new bets are added.
+ * Bet objects are released when the store is cleared, so the bets of one
+ * crowded spin, and the players who made them, are not kept alive by the
+ * store.
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public class BetStore {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] amounts;
+
+    private int[] outcomeIds;
+
+    private int[] seats;
+
+    private Bet[] bets;
+
+    private int size;
+
+    private int epoch;
+
+    /**
+     * Create an empty bet store
+     */
+    BetStore() {
+        amounts = new int[INITIAL_CAPACITY];
+        outcomeIds = new int[INITIAL_CAPACITY];
+        seats = new int[INITIAL_CAPACITY];
+        bets = new Bet[INITIAL_CAPACITY];
+        size = 0;
+        epoch = 0;
+    }
+
+    /**
+     * Add a bet to the store
+     *
+     * @param bet The bet object if the bet was placed as one, null otherwise
+     * @param amount Amount of the bet
+     * @param outcomeId Id of the outcome the bet was placed on
+     * @param seat Seat number of the player making the bet
+     * @return Index of the new bet
+     */
+    int add(Bet bet, int amount, int outcomeId, int seat) {
+
+        if (size == amounts.length) {
+            int capacity = size * 2;
+            amounts = Arrays.copyOf(amounts, capacity);
+            outcomeIds = Arrays.copyOf(outcomeIds, capacity);
+            seats = Arrays.copyOf(seats, capacity);
+            bets = Arrays.copyOf(bets, capacity);
+        }
+
+        amounts[size] = amount;
+        outcomeIds[size] = outcomeId;
+        seats[size] = seat;
+        bets[size] = bet;
+        return size++;
+    }
+
+    /**
+     * Remove all bets from the store and start a new epoch
+     */
+    void clear() {
+        Arrays.fill(bets, 0, size, null);
+        size = 0;
+        epoch++;
+    }
+
+    /**
+     * Get the number of bets in the store
+     *
+     * @return Number of bets
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the epoch of the store. This changes every time the store is
+     * cleared, so anything derived from the bets can check if it is stale.
+     *
+     * @return Current epoch
+     */
+    public int getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Get the amount of a bet
+     *
+     * @param index Index of the bet
+     * @return Amount of the bet
+     */
+    public int getAmount(int index) {
+        return amounts[check(index)];
+    }
+
+    /**
+     * Get the outcome id of a bet
+     *
+     * @param index Index of the bet
+     * @return Id of the outcome the bet was placed on
+     */
+    public int getOutcomeId(int index) {
+        return outcomeIds[check(index)];
+    }
+
+    /**
+     * Get the seat number of the player who made a bet
+     *
+     * @param index Index of the bet
+     * @return Seat number of the player
+     */
+    public int getSeat(int index) {
+        return seats[check(index)];
+    }
+
+    /**
+     * Get the bet object that was placed
+     *
+     * @param index Index of the bet
+     * @return The bet, or null if the bet was not placed as an object
+     */
+    Bet getBet(int index) {
+        return bets[check(index)];
+    }
+
+    private int check(int index) {
+
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        return index;
+    }
+}
@@ -25,26 +25,41 @@
  */
 package us.xwhite.casino;
 
+import java.util.AbstractSet;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
- * Class to represent the bin on a roulette wheel
+ * Class to represent the bin on a roulette wheel. Bins handed out by the
+ * {@link Wheel} are shared and read only; use {@link #of(Bin)} to get a copy
+ * that can be modified.
+ * <p>
+ * Outcomes are stored as a bitset keyed by {@link Outcome#getId()}, so
+ * checking if a bin contains an outcome is a single bit test.
  *
  * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
  */
 public class Bin {
 
-    private final Set<Outcome> outcomes;
+    /**
+     * Number of words in a new bitset, enough for every roulette outcome
+     */
+    private static final int INITIAL_WORDS = 3;
+
+    private long[] outcomes;
+
+    private final Set<Outcome> view;
+
+    private final boolean readOnly;
 
     /**
      * Basic constructor with no outcomes set
      */
     public Bin() {
-        this.outcomes = new HashSet<>();
+        this(new long[INITIAL_WORDS], false);
     }
 
     /**
@@ -62,7 +77,20 @@ public class Bin {
      * @param outcomes collection of initial outcomes
      */
     public Bin(Collection<Outcome> outcomes) {
-        this.outcomes = new HashSet<>(outcomes);
+        this();
+        outcomes.forEach(this::add);
+    }
+
+    /**
+     * Create a bin around a bitset of outcome ids
+     *
+     * @param outcomes bitset this bin takes ownership of
+     * @param readOnly true if outcomes may not be added to this bin
+     */
+    private Bin(long[] outcomes, boolean readOnly) {
+        this.outcomes = outcomes;
+        this.view = new OutcomeView();
+        this.readOnly = readOnly;
     }
 
     /**
@@ -70,9 +98,23 @@ public class Bin {
      *
      * @param outcome outcome to add
      * @return true if this bin did not already contain the outcome
+     * @throws UnsupportedOperationException Thrown if this bin is read only
      */
     public boolean add(Outcome outcome) {
-        return outcomes.add(outcome);
+
+        if (readOnly) {
+            throw new UnsupportedOperationException("Bin is read only");
+        }
+
+        int id = outcome.getId();
+        int word = id >>> 6;
+        if (word >= outcomes.length) {
+            outcomes = Arrays.copyOf(outcomes, Math.max(word + 1, outcomes.length * 2));
+        }
+
+        long before = outcomes[word];
+        outcomes[word] |= 1L << id;
+        return outcomes[word] != before;
     }
 
     /**
@@ -82,7 +124,18 @@ public class Bin {
      * @return true if the outcome is contained in this bin, false otherwise
      */
     public boolean contains(Outcome outcome) {
-        return outcomes.contains(outcome);
+        return contains(outcome.getId());
+    }
+
+    /**
+     * Determine if a given bin contains the outcome with a particular id
+     *
+     * @param id id of the outcome to test
+     * @return true if the outcome is contained in this bin, false otherwise
+     */
+    public boolean contains(int id) {
+        int word = id >>> 6;
+        return word < outcomes.length && (outcomes[word] & (1L << id)) != 0;
     }
 
     /**
@@ -92,7 +145,7 @@ public class Bin {
      */
     @Override
     public String toString() {
-        return outcomes.toString();
+        return view.toString();
     }
 
     /**
@@ -101,7 +154,7 @@ public class Bin {
      * @return An immutable set of outcomes
      */
     public Set<Outcome> getOutcomes() {
-        return Collections.unmodifiableSet(outcomes);
+        return view;
     }
 
     /**
@@ -111,6 +164,88 @@ public class Bin {
      * @return New bin
      */
     public static Bin of(Bin bin) {
-        return new Bin(bin.outcomes);
+        return new Bin(bin.outcomes.clone(), false);
+    }
+
+    /**
+     * Return a read only copy of passed in bin
+     *
+     * @param bin Bin to create a copy of
+     * @return New bin that outcomes cannot be added to
+     */
+    static Bin readOnlyOf(Bin bin) {
+        return new Bin(bin.outcomes.clone(), true);
+    }
+
+    /**
+     * Unmodifiable set view over the bitset of this bin
+     */
+    private class OutcomeView extends AbstractSet<Outcome> {
+
+        @Override
+        public boolean contains(Object o) {
+            return (o instanceof Outcome) && Bin.this.contains((Outcome) o);
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (long word : outcomes) {
+                size += Long.bitCount(word);
+            }
+            return size;
+        }
+
+        @Override
+        public Iterator<Outcome> iterator() {
+
+            return new Iterator<Outcome>() {
+
+                private final long[] words = outcomes;
+
+                private int next = nextId(0);
+
+                @Override
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                @Override
+                public Outcome next() {
+
+                    if (next < 0) {
+                        throw new NoSuchElementException();
+                    }
+
+                    Outcome outcome = OutcomeRegistry.get(next);
+                    next = nextId(next + 1);
+                    return outcome;
+                }
+
+                /**
+                 * Find the next outcome id in the bitset
+                 *
+                 * @param from id to start searching from
+                 * @return next id set in the bitset, or -1 if there are none
+                 */
+                private int nextId(int from) {
+
+                    int word = from >>> 6;
+                    if (word >= words.length) {
+                        return -1;
+                    }
+
+                    long bits = words[word] & (-1L << from);
+                    while (bits == 0) {
+                        if (++word == words.length) {
+                            return -1;
+                        }
+                        bits = words[word];
+                    }
+
+                    return (word << 6) + Long.numberOfTrailingZeros(bits);
+                }
+            };
+        }
     }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+/**
+ * Summary of a batch of rounds played by one player with
+ * {@link Game#cycleMany(Player, int) cycleMany}
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public final class CycleSummary {
+
+    private final int rounds;
+
+    private final int maxStake;
+
+    private final int finalStake;
+
+    /**
+     * Create a summary of a batch of rounds
+     *
+     * @param rounds Number of rounds played
+     * @param maxStake Largest stake after any round, or the final stake if no
+     * rounds were played
+     * @param finalStake Stake after the last round
+     */
+    public CycleSummary(int rounds, int maxStake, int finalStake) {
+        this.rounds = rounds;
+        this.maxStake = maxStake;
+        this.finalStake = finalStake;
+    }
+
+    /**
+     * Get the number of rounds played
+     *
+     * @return Number of rounds
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Get the largest stake the player had after any round
+     *
+     * @return Maximum stake
+     */
+    public int getMaxStake() {
+        return maxStake;
+    }
+
+    /**
+     * Get the stake the player had after the last round
+     *
+     * @return Final stake
+     */
+    public int getFinalStake() {
+        return finalStake;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        result.append("Rounds: ").append(rounds)
+                .append(", Max stake: ").append(maxStake)
+                .append(", Final stake: ").append(finalStake);
+        return result.toString();
+    }
+}
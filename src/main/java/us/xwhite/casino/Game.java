@@ -44,6 +44,38 @@ public interface Game {
      */
     public Set<Outcome> cycle(Player player);
 
+    /**
+     * Play up to a number of cycles of the game, stopping early once the
+     * player stops playing. Only the totals for the batch are kept, so no
+     * result is built for each round.
+     *
+     * @param player Player playing the game
+     * @param rounds Most rounds to play
+     * @return Summary of the rounds played
+     * @throws IllegalArgumentException Thrown if player is null or rounds is
+     * negative
+     */
+    public default CycleSummary cycleMany(Player player, int rounds) {
+
+        if (player == null) {
+            throw new IllegalArgumentException("Player cannot be null");
+        }
+        if (rounds < 0) {
+            throw new IllegalArgumentException("Rounds cannot be negative");
+        }
+
+        int played = 0;
+        int maxStake = Integer.MIN_VALUE;
+        while (played < rounds && player.playing()) {
+            cycle(player);
+            played++;
+            maxStake = Math.max(maxStake, player.getStake());
+        }
+
+        int finalStake = player.getStake();
+        return new CycleSummary(played, (played == 0) ? finalStake : maxStake, finalStake);
+    }
+
     /**
      * Retrieve the table for this game
      *
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+/**
+ * Histogram that counts every value of a stream of integers, for exact
+ * percentiles of bounded metrics such as durations and stakes. Memory grows
+ * with the range of the values rather than their number. For values spread
+ * over a wide range use a {@link QuantileSketch} instead.
+ * <p>
+ * Histograms can be merged, so each worker of a simulation can keep its own
+ * and the results combined without going back to the values. Instances are
+ * not thread safe.
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public final class IntHistogram {
+
+    /**
+     * Largest range of values a histogram can hold
+     */
+    public static final int MAX_RANGE = 1 << 24;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] counts = new long[0];
+
+    // value counted in counts[0]
+    private int offset;
+
+    private long count;
+
+    private int min = Integer.MAX_VALUE;
+
+    private int max = Integer.MIN_VALUE;
+
+    /**
+     * Create an empty histogram
+     */
+    public IntHistogram() {
+    }
+
+    /**
+     * Add a value to the histogram
+     *
+     * @param value Value to add
+     * @throws IllegalArgumentException Thrown if the values would span more
+     * than {@link #MAX_RANGE}
+     */
+    public void add(int value) {
+        ensureRange(value);
+        counts[value - offset]++;
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Add all the values of another histogram to this one
+     *
+     * @param other Histogram to merge in
+     * @throws IllegalArgumentException Thrown if other is null, or if the
+     * values would span more than {@link #MAX_RANGE}
+     */
+    public void merge(IntHistogram other) {
+
+        if (other == null) {
+            throw new IllegalArgumentException("Histogram cannot be null");
+        }
+        if (other.count == 0) {
+            return;
+        }
+
+        ensureRange(other.min);
+        ensureRange(other.max);
+        for (int value = other.min; value <= other.max; value++) {
+            counts[value - offset] += other.counts[value - other.offset];
+            if (value == Integer.MAX_VALUE) {
+                break;
+            }
+        }
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Get the number of values added
+     *
+     * @return Number of values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Get the number of times a value was added
+     *
+     * @param value Value to check
+     * @return Number of times the value was added
+     */
+    public long getCount(int value) {
+        return (count == 0 || value < min || value > max) ? 0 : counts[value - offset];
+    }
+
+    /**
+     * Get the smallest value added
+     *
+     * @return The minimum
+     * @throws IllegalStateException Thrown if no values have been added
+     */
+    public int getMin() {
+        requireValues();
+        return min;
+    }
+
+    /**
+     * Get the largest value added
+     *
+     * @return The maximum
+     * @throws IllegalStateException Thrown if no values have been added
+     */
+    public int getMax() {
+        requireValues();
+        return max;
+    }
+
+    /**
+     * Get the exact nth percentile of the values added, using the same
+     * nearest rank as {@link IntegerStatistics#NTH_PERCENTILE}
+     *
+     * @param percentile Percentile to get, between 0 and 100
+     * @return Value at the percentile
+     * @throws IllegalArgumentException Thrown if percentile is not between 0
+     * and 100
+     * @throws IllegalStateException Thrown if no values have been added
+     */
+    public int getPercentile(int percentile) {
+
+        if (percentile <= 0 || percentile >= 100) {
+            throw new IllegalArgumentException("Please use a value between 0 and 100");
+        }
+        requireValues();
+
+        long rank = (percentile * count + 99) / 100 - 1;
+        for (int i = min - offset; i <= max - offset; i++) {
+            rank -= counts[i];
+            if (rank < 0) {
+                return offset + i;
+            }
+        }
+
+        return max;
+    }
+
+    private void requireValues() {
+        if (count == 0) {
+            throw new IllegalStateException("No values have been added");
+        }
+    }
+
+    /**
+     * Grow the counts, if needed, so they cover a value. The extra room goes
+     * on the side the values are growing towards.
+     *
+     * @param value Value to cover
+     */
+    private void ensureRange(int value) {
+
+        if (counts.length > 0 && value >= offset && (long) value - offset < counts.length) {
+            return;
+        }
+
+        long low = (counts.length == 0) ? value : Math.min(offset, value);
+        long high = (counts.length == 0) ? value : Math.max((long) offset + counts.length - 1, value);
+        long needed = high - low + 1;
+        if (needed > MAX_RANGE) {
+            throw new IllegalArgumentException("Values span more than " + MAX_RANGE);
+        }
+
+        long capacity = Math.min(MAX_RANGE, Math.max(needed, Math.max(INITIAL_CAPACITY, 2L * counts.length)));
+        long start;
+        if (counts.length == 0) {
+            start = value - capacity / 2;
+        } else if (value < offset) {
+            start = high - capacity + 1;
+        } else {
+            start = low;
+        }
+        start = Math.max(Integer.MIN_VALUE, Math.min(start, Integer.MAX_VALUE - capacity + 1));
+
+        long[] grown = new long[(int) capacity];
+        if (counts.length > 0) {
+            System.arraycopy(counts, 0, grown, (int) (offset - start), counts.length);
+        }
+        counts = grown;
+        offset = (int) start;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        result.append("Count: ").append(count);
+        if (count > 0) {
+            result.append(", Min: ").append(min)
+                    .append(", Max: ").append(max);
+        }
+        return result.toString();
+    }
+}
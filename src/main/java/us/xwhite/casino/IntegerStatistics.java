@@ -25,15 +25,16 @@
  */
 package us.xwhite.casino;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.Collections;
+import java.nio.IntBuffer;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
 /**
- * Class providing functions for obtaining statistics on simulations
+ * Class providing functions for obtaining statistics on simulations. To gather
+ * statistics while a simulation runs, without keeping the values, use
+ * {@link RunningStatistics}.
  *
  * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
  */
@@ -49,22 +50,40 @@ public final class IntegerStatistics {
                     throw new IllegalArgumentException("List must not be null and must contain values");
                 }
 
-                return (double) list.parallelStream().reduce(0, Integer::sum) / list.size();
+                return accumulate(list).getMean();
             };
 
     /**
-     * Obtain the nth percentile from the list of integers
+     * Obtain the nth percentile from the list of integers. The list is not
+     * changed.
      */
     public static final BiFunction<List<Integer>, Integer, Integer> NTH_PERCENTILE
             = (list, percentile) -> {
-                if (percentile <= 0 || percentile >= 100) {
-                    throw new IllegalArgumentException("Please use a value between 0 and 100");
+
+                if (list == null || list.isEmpty()) {
+                    throw new IllegalArgumentException("List must not be null and must contain values");
+                }
+
+                int[] values = list.stream().mapToInt(Integer::intValue).toArray();
+                return percentiles(values, new int[]{percentile})[0];
+            };
+
+    /**
+     * Obtain several exact percentiles from an array of integers in one pass,
+     * without sorting or changing the array. Values that fit a small range
+     * are counted in a histogram, and wider ranges are radix sorted in a copy,
+     * so the cost is linear in the number of values. Each percentile uses the
+     * same nearest rank as {@link #NTH_PERCENTILE}, and the answers are in the
+     * same order as the percentiles asked for.
+     */
+    public static final BiFunction<int[], int[], int[]> EXACT_PERCENTILES
+            = (values, percentiles) -> {
+
+                if (values == null || values.length == 0) {
+                    throw new IllegalArgumentException("Values must not be null and must contain values");
                 }
 
-                Collections.sort(list);
-                int location = new BigDecimal((double) percentile * list.size() / 100)
-                        .setScale(0, RoundingMode.UP).intValue() - 1;
-                return list.get(location);
+                return percentiles(values, percentiles);
             };
 
     /**
@@ -72,21 +91,380 @@ public final class IntegerStatistics {
      */
     public static final Function<List<Integer>, Double> STANDARD_DEVIATION
             = (list) -> {
-                double mean = MEAN.apply(list);
 
-                if (list.size() == 1) {
+                if (list == null || list.size() < 2) {
                     throw new IllegalArgumentException("List must contain more than one value");
                 }
 
-                double s = list.stream()
-                        .map((x) -> x - mean)
-                        .map((d) -> d * d)
-                        .reduce(0.0, Double::sum);
-
-                return Math.sqrt(s / (list.size() - 1));
+                return accumulate(list).getStandardDeviation();
             };
 
+    // percentiles use a histogram when the range of values is at most this or
+    // the number of values, so a large histogram is never bigger than the
+    // sorted copy it replaces
+    private static final int HISTOGRAM_RANGE = 1 << 16;
+
+    private static final int BLOCK_SIZE = 4096;
+
     private IntegerStatistics() {
 
     }
+
+    /**
+     * Get the average value from an array of integers
+     *
+     * @param values Values to average
+     * @return The mean
+     * @throws IllegalArgumentException Thrown if values is null or empty
+     */
+    public static double mean(int[] values) {
+        requireValues(values == null ? 0 : values.length, 1);
+        return (double) sum(values, 0, values.length) / values.length;
+    }
+
+    /**
+     * Get the average value from the remaining integers of a buffer, which
+     * may be off heap. The position of the buffer is not changed.
+     *
+     * @param values Values to average
+     * @return The mean
+     * @throws IllegalArgumentException Thrown if values is null or empty
+     */
+    public static double mean(IntBuffer values) {
+        requireValues(values == null ? 0 : values.remaining(), 1);
+        long[] total = new long[1];
+        forEachBlock(values, (block, from, to) -> total[0] += sum(block, from, to));
+        return (double) total[0] / values.remaining();
+    }
+
+    /**
+     * Get the standard deviation from an array of integers
+     *
+     * @param values Values to measure
+     * @return The sample standard deviation, using n - 1 as the divisor
+     * @throws IllegalArgumentException Thrown if values has fewer than two
+     * values
+     */
+    public static double standardDeviation(int[] values) {
+        requireValues(values == null ? 0 : values.length, 2);
+        double mean = mean(values);
+        return Math.sqrt(squaredDeviations(values, 0, values.length, mean) / (values.length - 1));
+    }
+
+    /**
+     * Get the standard deviation from the remaining integers of a buffer,
+     * which may be off heap. The position of the buffer is not changed.
+     *
+     * @param values Values to measure
+     * @return The sample standard deviation, using n - 1 as the divisor
+     * @throws IllegalArgumentException Thrown if values has fewer than two
+     * values
+     */
+    public static double standardDeviation(IntBuffer values) {
+        requireValues(values == null ? 0 : values.remaining(), 2);
+        double mean = mean(values);
+        double[] total = new double[1];
+        forEachBlock(values, (block, from, to) -> total[0] += squaredDeviations(block, from, to, mean));
+        return Math.sqrt(total[0] / (values.remaining() - 1));
+    }
+
+    /**
+     * Get the smallest value from an array of integers
+     *
+     * @param values Values to search
+     * @return The minimum
+     * @throws IllegalArgumentException Thrown if values is null or empty
+     */
+    public static int min(int[] values) {
+        requireValues(values == null ? 0 : values.length, 1);
+        return min(values, 0, values.length);
+    }
+
+    /**
+     * Get the smallest value from the remaining integers of a buffer, which
+     * may be off heap. The position of the buffer is not changed.
+     *
+     * @param values Values to search
+     * @return The minimum
+     * @throws IllegalArgumentException Thrown if values is null or empty
+     */
+    public static int min(IntBuffer values) {
+        requireValues(values == null ? 0 : values.remaining(), 1);
+        int[] result = {Integer.MAX_VALUE};
+        forEachBlock(values, (block, from, to) -> result[0] = Math.min(result[0], min(block, from, to)));
+        return result[0];
+    }
+
+    /**
+     * Get the largest value from an array of integers
+     *
+     * @param values Values to search
+     * @return The maximum
+     * @throws IllegalArgumentException Thrown if values is null or empty
+     */
+    public static int max(int[] values) {
+        requireValues(values == null ? 0 : values.length, 1);
+        return max(values, 0, values.length);
+    }
+
+    /**
+     * Get the largest value from the remaining integers of a buffer, which
+     * may be off heap. The position of the buffer is not changed.
+     *
+     * @param values Values to search
+     * @return The maximum
+     * @throws IllegalArgumentException Thrown if values is null or empty
+     */
+    public static int max(IntBuffer values) {
+        requireValues(values == null ? 0 : values.remaining(), 1);
+        int[] result = {Integer.MIN_VALUE};
+        forEachBlock(values, (block, from, to) -> result[0] = Math.max(result[0], max(block, from, to)));
+        return result[0];
+    }
+
+    private static void requireValues(int count, int needed) {
+        if (count < needed) {
+            throw new IllegalArgumentException(needed == 1
+                    ? "Values must not be null and must contain values"
+                    : "Values must contain more than one value");
+        }
+    }
+
+    /**
+     * Run a kernel over the remaining values of a buffer. Heap buffers are
+     * read in place; others are copied into a small block at a time, which
+     * is a bulk copy for direct buffers.
+     *
+     * @param values Buffer to read, whose position is not changed
+     * @param kernel Kernel to run on each block
+     */
+    private static void forEachBlock(IntBuffer values, Kernel kernel) {
+
+        if (values.hasArray()) {
+            int start = values.arrayOffset() + values.position();
+            kernel.apply(values.array(), start, start + values.remaining());
+            return;
+        }
+
+        IntBuffer source = values.duplicate();
+        int[] block = new int[Math.min(BLOCK_SIZE, source.remaining())];
+        while (source.hasRemaining()) {
+            int length = Math.min(block.length, source.remaining());
+            source.get(block, 0, length);
+            kernel.apply(block, 0, length);
+        }
+    }
+
+    // the kernels below keep four independent accumulators, so each step does
+    // not wait on the one before it and the JIT can unroll or vectorize them
+
+    private static long sum(int[] values, int from, int to) {
+
+        long s0 = 0;
+        long s1 = 0;
+        long s2 = 0;
+        long s3 = 0;
+        int i = from;
+        for (; i + 3 < to; i += 4) {
+            s0 += values[i];
+            s1 += values[i + 1];
+            s2 += values[i + 2];
+            s3 += values[i + 3];
+        }
+        for (; i < to; i++) {
+            s0 += values[i];
+        }
+
+        return s0 + s1 + s2 + s3;
+    }
+
+    private static double squaredDeviations(int[] values, int from, int to, double mean) {
+
+        double s0 = 0.0;
+        double s1 = 0.0;
+        double s2 = 0.0;
+        double s3 = 0.0;
+        int i = from;
+        for (; i + 3 < to; i += 4) {
+            double d0 = values[i] - mean;
+            double d1 = values[i + 1] - mean;
+            double d2 = values[i + 2] - mean;
+            double d3 = values[i + 3] - mean;
+            s0 += d0 * d0;
+            s1 += d1 * d1;
+            s2 += d2 * d2;
+            s3 += d3 * d3;
+        }
+        for (; i < to; i++) {
+            double d = values[i] - mean;
+            s0 += d * d;
+        }
+
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private static int min(int[] values, int from, int to) {
+
+        int result = Integer.MAX_VALUE;
+        for (int i = from; i < to; i++) {
+            result = Math.min(result, values[i]);
+        }
+
+        return result;
+    }
+
+    private static int max(int[] values, int from, int to) {
+
+        int result = Integer.MIN_VALUE;
+        for (int i = from; i < to; i++) {
+            result = Math.max(result, values[i]);
+        }
+
+        return result;
+    }
+
+    /**
+     * Kernel run over a block of values
+     */
+    @FunctionalInterface
+    private interface Kernel {
+
+        void apply(int[] values, int from, int to);
+    }
+
+    /**
+     * Find exact percentiles of a non empty array of integers
+     *
+     * @param values Values to search, which are not changed
+     * @param percentiles Percentiles to find, each between 0 and 100
+     * @return Value at each percentile
+     */
+    private static int[] percentiles(int[] values, int[] percentiles) {
+
+        if (percentiles == null || percentiles.length == 0) {
+            throw new IllegalArgumentException("Please ask for at least one percentile");
+        }
+
+        long[] ranks = new long[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            if (percentiles[i] <= 0 || percentiles[i] >= 100) {
+                throw new IllegalArgumentException("Please use a value between 0 and 100");
+            }
+            ranks[i] = ((long) percentiles[i] * values.length + 99) / 100 - 1;
+        }
+
+        int min = values[0];
+        int max = values[0];
+        for (int value : values) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        int[] result = new int[ranks.length];
+        long range = (long) max - min + 1;
+        if (range <= Math.max(HISTOGRAM_RANGE, values.length)) {
+            // cumulative counts, so the value at a rank is a binary search
+            int[] counts = new int[(int) range];
+            for (int value : values) {
+                counts[value - min]++;
+            }
+            for (int i = 1; i < counts.length; i++) {
+                counts[i] += counts[i - 1];
+            }
+            for (int i = 0; i < ranks.length; i++) {
+                result[i] = min + firstAbove(counts, ranks[i]);
+            }
+        } else {
+            int[] sorted = radixSort(values);
+            for (int i = 0; i < ranks.length; i++) {
+                result[i] = sorted[(int) ranks[i]];
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Find the first index of a cumulative count that is above a rank
+     *
+     * @param counts Cumulative counts
+     * @param rank Rank to find
+     * @return Index holding the value at the rank
+     */
+    private static int firstAbove(int[] counts, long rank) {
+
+        int low = 0;
+        int high = counts.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (counts[middle] > rank) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Sort a copy of an array of integers, one byte at a time
+     *
+     * @param values Values to sort, which are not changed
+     * @return Sorted copy of the values
+     */
+    private static int[] radixSort(int[] values) {
+
+        int[] sorted = values.clone();
+        int[] buffer = new int[values.length];
+        int[] counts = new int[256];
+        for (int shift = 0; shift < Integer.SIZE; shift += Byte.SIZE) {
+
+            Arrays.fill(counts, 0);
+            for (int value : sorted) {
+                counts[digit(value, shift)]++;
+            }
+            if (counts[digit(sorted[0], shift)] == sorted.length) {
+                // every value has the same digit, so this pass would not move anything
+                continue;
+            }
+
+            int position = 0;
+            for (int i = 0; i < counts.length; i++) {
+                int count = counts[i];
+                counts[i] = position;
+                position += count;
+            }
+            for (int value : sorted) {
+                buffer[counts[digit(value, shift)]++] = value;
+            }
+
+            int[] swap = sorted;
+            sorted = buffer;
+            buffer = swap;
+        }
+
+        return sorted;
+    }
+
+    private static int digit(int value, int shift) {
+        // flipping the sign bit puts negative values first
+        return ((value ^ Integer.MIN_VALUE) >>> shift) & 0xFF;
+    }
+
+    /**
+     * Gather statistics on a list of integers in a single pass
+     *
+     * @param list Values to gather statistics on
+     * @return Statistics for the values
+     */
+    private static RunningStatistics accumulate(List<Integer> list) {
+
+        RunningStatistics statistics = new RunningStatistics();
+        for (int value : list) {
+            statistics.add(value);
+        }
+
+        return statistics;
+    }
 }
@@ -27,10 +27,8 @@ package us.xwhite.casino;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 import java.util.Random;
+import java.util.function.LongFunction;
 
 /**
  * Main entry point to application
@@ -42,39 +40,45 @@ public class MainApplication {
     /**
      * Main entry point to application
      *
-     * @param args No command line arguments are used in this application
+     * @param args Optional master seed, so an earlier run can be reproduced
      */
     public static void main(String[] args) {
 
-        Wheel wheel = new Wheel.WheelBuilder().rng(new Random()).build();
-        Table table = new Table((int) (Simulator.INIT_STAKE * .75));
-        Game game = new RouletteGame(wheel, table);
+        long masterSeed = (args.length > 0) ? Long.parseLong(args[0]) : new Random().nextLong();
+        LongFunction<Game> gameFactory = (seed) -> new RouletteGame(
+                new Wheel.WheelBuilder().source(new Xoroshiro128PlusPlus(seed)).build(),
+                new Table((int) (Simulator.INIT_STAKE * .75)));
 
-        Simulator simulator = new Simulator(game, Player.Type.Martingale);
-        simulator.gather();
-        List<Integer> durations = new ArrayList<>(simulator.getDurations());
-        List<Integer> maxStakes = new ArrayList<>(simulator.getMaxima());
-        List<Integer> finalStakes = new ArrayList<>(simulator.getFinalStakes());
+        Simulator simulator = new Simulator(gameFactory, Player.Type.Martingale, Simulator.SAMPLES, masterSeed);
+        simulator.gather(Runtime.getRuntime().availableProcessors());
+        int[] reported = {50, 90};
+        int[] durations = IntegerStatistics.EXACT_PERCENTILES.apply(simulator.getDurationValues(), reported);
+        int[] maxStakes = IntegerStatistics.EXACT_PERCENTILES.apply(simulator.getMaximaValues(), reported);
+        int[] finalStakes = IntegerStatistics.EXACT_PERCENTILES.apply(simulator.getFinalStakeValues(), reported);
+        RunningStatistics durationStatistics = simulator.getDurationStatistics();
+        RunningStatistics maxStakeStatistics = simulator.getMaximaStatistics();
+        RunningStatistics finalStakeStatistics = simulator.getFinalStakeStatistics();
 
         System.out.println(new StringBuilder()
+                .append("Master seed: ").append(masterSeed).append(System.lineSeparator())
                 .append("Starting durations: ").append(Simulator.INIT_DURATION).append(System.lineSeparator())
                 .append("Starting stake: ").append(Simulator.INIT_STAKE).append(System.lineSeparator())
                 .append("Number of simulations: ").append(Simulator.SAMPLES).append(System.lineSeparator())
-                .append("Max durations: ").append(Collections.max(durations)).append(System.lineSeparator())
-                .append("Max maximum stake: ").append(Collections.max(maxStakes)).append(System.lineSeparator())
-                .append("Max final stake: ").append(Collections.max(finalStakes)).append(System.lineSeparator())
-                .append("Average duration: ").append(IntegerStatistics.MEAN.apply(durations)).append(System.lineSeparator())
-                .append("Average maximum stake: ").append(IntegerStatistics.MEAN.apply(maxStakes)).append(System.lineSeparator())
-                .append("Average final stake: ").append(IntegerStatistics.MEAN.apply(finalStakes)).append(System.lineSeparator())
-                .append("50th percentile duration: ").append(IntegerStatistics.NTH_PERCENTILE.apply(durations, 50)).append(System.lineSeparator())
-                .append("50th percentile maximum stake: ").append(IntegerStatistics.NTH_PERCENTILE.apply(maxStakes, 50)).append(System.lineSeparator())
-                .append("50th percentile final stake: ").append(IntegerStatistics.NTH_PERCENTILE.apply(finalStakes, 50)).append(System.lineSeparator())
-                .append("90th percentile duration: ").append(IntegerStatistics.NTH_PERCENTILE.apply(durations, 90)).append(System.lineSeparator())
-                .append("90th percentile maximum stake: ").append(IntegerStatistics.NTH_PERCENTILE.apply(maxStakes, 90)).append(System.lineSeparator())
-                .append("90th percentile final stake: ").append(IntegerStatistics.NTH_PERCENTILE.apply(finalStakes, 90)).append(System.lineSeparator())
-                .append("Standard deviation for durations: ").append(new BigDecimal(IntegerStatistics.STANDARD_DEVIATION.apply(durations)).setScale(2, RoundingMode.HALF_UP)).append(System.lineSeparator())
-                .append("Standard deviation for maximum stakes: ").append(new BigDecimal(IntegerStatistics.STANDARD_DEVIATION.apply(maxStakes)).setScale(2, RoundingMode.HALF_UP)).append(System.lineSeparator())
-                .append("Standard deviation for final stakes: ").append(new BigDecimal(IntegerStatistics.STANDARD_DEVIATION.apply(finalStakes)).setScale(2, RoundingMode.HALF_UP)).append(System.lineSeparator())
+                .append("Max durations: ").append(durationStatistics.getMax()).append(System.lineSeparator())
+                .append("Max maximum stake: ").append(maxStakeStatistics.getMax()).append(System.lineSeparator())
+                .append("Max final stake: ").append(finalStakeStatistics.getMax()).append(System.lineSeparator())
+                .append("Average duration: ").append(durationStatistics.getMean()).append(System.lineSeparator())
+                .append("Average maximum stake: ").append(maxStakeStatistics.getMean()).append(System.lineSeparator())
+                .append("Average final stake: ").append(finalStakeStatistics.getMean()).append(System.lineSeparator())
+                .append("50th percentile duration: ").append(durations[0]).append(System.lineSeparator())
+                .append("50th percentile maximum stake: ").append(maxStakes[0]).append(System.lineSeparator())
+                .append("50th percentile final stake: ").append(finalStakes[0]).append(System.lineSeparator())
+                .append("90th percentile duration: ").append(durations[1]).append(System.lineSeparator())
+                .append("90th percentile maximum stake: ").append(maxStakes[1]).append(System.lineSeparator())
+                .append("90th percentile final stake: ").append(finalStakes[1]).append(System.lineSeparator())
+                .append("Standard deviation for durations: ").append(new BigDecimal(durationStatistics.getStandardDeviation()).setScale(2, RoundingMode.HALF_UP)).append(System.lineSeparator())
+                .append("Standard deviation for maximum stakes: ").append(new BigDecimal(maxStakeStatistics.getStandardDeviation()).setScale(2, RoundingMode.HALF_UP)).append(System.lineSeparator())
+                .append("Standard deviation for final stakes: ").append(new BigDecimal(finalStakeStatistics.getStandardDeviation()).setScale(2, RoundingMode.HALF_UP)).append(System.lineSeparator())
                 .toString());
     }
 }
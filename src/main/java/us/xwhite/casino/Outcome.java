@@ -28,6 +28,10 @@ package us.xwhite.casino;
 /**
  * Class for holding outcome odds to be applied to bets. Each outcome should
  * have odds, and any bet amount can get the win amount by calling winAmount.
+ * <p>
+ * Every distinct outcome name is given a small id by the
+ * {@link OutcomeRegistry} the first time it is seen. Outcomes that are equal
+ * always share the same id.
  *
  * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
  */
@@ -37,15 +41,38 @@ public final class Outcome {
 
     private final int odds;
 
+    private final int id;
+
     /**
      * Create new Outcome with name and odds
      *
      * @param name Name representation of the outcome
      * @param odds Odds in (odds:1) ratio to be applied
+     * @throws IllegalArgumentException Thrown if name is null
      */
     public Outcome(String name, int odds) {
+
+        if (name == null) {
+            throw new IllegalArgumentException("Name cannot be null");
+        }
+
+        this.name = name;
+        this.odds = odds;
+        this.id = OutcomeRegistry.register(name, odds);
+    }
+
+    /**
+     * Create an outcome with a known id. Only used by the
+     * {@link OutcomeRegistry} when a name is first registered.
+     *
+     * @param name Name representation of the outcome
+     * @param odds Odds in (odds:1) ratio to be applied
+     * @param id Id for this outcome's name
+     */
+    Outcome(String name, int odds, int id) {
         this.name = name;
         this.odds = odds;
+        this.id = id;
     }
 
     /**
@@ -67,6 +94,15 @@ public final class Outcome {
         return name;
     }
 
+    /**
+     * Get the id for the outcome
+     *
+     * @return Id shared by all outcomes with this name
+     */
+    public int getId() {
+        return id;
+    }
+
     /**
      * Returns the hash code value for this outcome
      *
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry giving every distinct outcome name a small, stable id. Ids start at
+ * 0 and have no gaps in the order names are first seen, so they can be used to
+ * index arrays and bitsets. Outcomes are equal when their names are equal, so
+ * outcomes with the same name share an id even if their odds differ. The odds
+ * and names of registered outcomes are kept in arrays indexed by id, making a
+ * lookup by id a single array read.
+ * <p>
+ * The registry is safe to use from many threads. Lookups never lock; only
+ * registering a name that has not been seen before does.
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public final class OutcomeRegistry {
+
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+
+    private static volatile Entries entries = new Entries(new Outcome[256], new String[256], new int[256], 0);
+
+    /**
+     * Get the id for an outcome name, registering the name if it has not been
+     * seen before
+     *
+     * @param name Name of the outcome
+     * @param odds Odds to record if the name has not been seen before
+     * @return Id for the outcome name
+     */
+    static int register(String name, int odds) {
+
+        Integer id = IDS.get(name);
+        return (id != null) ? id : add(name, odds);
+    }
+
+    /**
+     * Give an outcome name the next free id, unless another thread has already
+     * registered it
+     *
+     * @param name Name of the outcome to register
+     * @param odds Odds of the outcome to register
+     * @return Id for the outcome name
+     */
+    private static synchronized int add(String name, int odds) {
+
+        Integer knownId = IDS.get(name);
+        if (knownId != null) {
+            return knownId;
+        }
+
+        Entries current = entries;
+        int id = current.size;
+        Outcome[] outcomes = current.outcomes;
+        String[] names = current.names;
+        int[] oddsById = current.odds;
+
+        if (id == outcomes.length) {
+            outcomes = Arrays.copyOf(outcomes, id * 2);
+            names = Arrays.copyOf(names, id * 2);
+            oddsById = Arrays.copyOf(oddsById, id * 2);
+        }
+
+        // readers never look past the size of the entries they were given, so
+        // these slots can be filled before the new entries are published
+        outcomes[id] = new Outcome(name, odds, id);
+        names[id] = name;
+        oddsById[id] = odds;
+        entries = new Entries(outcomes, names, oddsById, id + 1);
+        IDS.put(name, id);
+        return id;
+    }
+
+    /**
+     * Find the id of an outcome name
+     *
+     * @param name Name of the outcome
+     * @return Id of the outcome, or -1 if the name has not been registered
+     */
+    public static int idOf(String name) {
+
+        Integer id = IDS.get(name);
+        return (id != null) ? id : -1;
+    }
+
+    /**
+     * Get the outcome registered with an id. This is the first outcome created
+     * with the id's name.
+     *
+     * @param id Id of the outcome
+     * @return The outcome with this id
+     * @throws IndexOutOfBoundsException Thrown if no outcome has this id
+     */
+    public static Outcome get(int id) {
+        return entries.check(id).outcomes[id];
+    }
+
+    /**
+     * Get the name of the outcome registered with an id
+     *
+     * @param id Id of the outcome
+     * @return Name of the outcome
+     * @throws IndexOutOfBoundsException Thrown if no outcome has this id
+     */
+    public static String getName(int id) {
+        return entries.check(id).names[id];
+    }
+
+    /**
+     * Get the odds of the outcome registered with an id. These are the odds of
+     * the first outcome registered under the id's name; an outcome created
+     * later with the same name keeps its own odds, and bets on it are paid
+     * with those.
+     *
+     * @param id Id of the outcome
+     * @return Odds in (odds:1) ratio of the first outcome with this name
+     * @throws IndexOutOfBoundsException Thrown if no outcome has this id
+     */
+    public static int getOdds(int id) {
+        return entries.check(id).odds[id];
+    }
+
+    /**
+     * Get the number of registered outcomes. Every id is less than this value.
+     *
+     * @return Number of registered outcomes
+     */
+    public static int size() {
+        return entries.size;
+    }
+
+    /**
+     * Get the names of all registered outcomes
+     *
+     * @return New array of names, indexed by id
+     */
+    public static String[] getNames() {
+        Entries current = entries;
+        return Arrays.copyOf(current.names, current.size);
+    }
+
+    /**
+     * Get the odds of all registered outcomes
+     *
+     * @return New array of odds, indexed by id
+     */
+    public static int[] getOdds() {
+        Entries current = entries;
+        return Arrays.copyOf(current.odds, current.size);
+    }
+
+    private OutcomeRegistry() {
+
+    }
+
+    /**
+     * Snapshot of the registered outcomes. The arrays may be longer than size,
+     * but only the first size slots are ever read.
+     */
+    private static final class Entries {
+
+        private final Outcome[] outcomes;
+
+        private final String[] names;
+
+        private final int[] odds;
+
+        private final int size;
+
+        private Entries(Outcome[] outcomes, String[] names, int[] odds, int size) {
+            this.outcomes = outcomes;
+            this.names = names;
+            this.odds = odds;
+            this.size = size;
+        }
+
+        private Entries check(int id) {
+
+            if (id < 0 || id >= size) {
+                throw new IndexOutOfBoundsException("Unknown outcome id: " + id);
+            }
+
+            return this;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+/**
+ * The PCG32 generator (PCG-XSH-RR with 64 bits of state) by O'Neill. It makes
+ * 32 random bits per step, which is all a spin of the wheel needs. It is not
+ * cryptographically secure, and an instance must not be shared between
+ * threads.
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public final class Pcg32 implements RandomSource {
+
+    private static final long MULTIPLIER = 6364136223846793005L;
+
+    private static final long DEFAULT_SEQUENCE = 0xda3e39cb94b95bdbL;
+
+    private long state;
+
+    private final long increment;
+
+    /**
+     * Create a generator from a seed, using the default stream
+     *
+     * @param seed Seed for the generator
+     */
+    public Pcg32(long seed) {
+        this(seed, DEFAULT_SEQUENCE);
+    }
+
+    /**
+     * Create a generator from a seed and a stream. Generators on different
+     * streams give different sequences even with the same seed.
+     *
+     * @param seed Seed for the generator
+     * @param sequence Stream to select
+     */
+    public Pcg32(long seed, long sequence) {
+        increment = (sequence << 1) | 1L;
+        state = 0L;
+        nextInt();
+        state += seed;
+        nextInt();
+    }
+
+    @Override
+    public int nextInt() {
+
+        long old = state;
+        state = old * MULTIPLIER + increment;
+        int xorShifted = (int) (((old >>> 18) ^ old) >>> 27);
+        return Integer.rotateRight(xorShifted, (int) (old >>> 59));
+    }
+
+    @Override
+    public long nextLong() {
+        return ((long) nextInt() << 32) | (nextInt() & 0xFFFFFFFFL);
+    }
+}
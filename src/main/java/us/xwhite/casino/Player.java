@@ -39,8 +39,27 @@ import us.xwhite.casino.players.roulette.SevenReds;
  */
 public abstract class Player {
 
+    private static final Logger LOGGER = Logger.getLogger(Player.class.getName());
+
+    // player classes that override the per bet win or lose hooks
+    private static final ClassValue<Boolean> BET_HOOKS = new ClassValue<Boolean>() {
+
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+
+            try {
+                return type.getMethod("win", Bet.class).getDeclaringClass() != Player.class
+                        || type.getMethod("lose", Bet.class).getDeclaringClass() != Player.class;
+            } catch (NoSuchMethodException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    };
+
     private final Table table;
 
+    private final boolean betHooks;
+
     private int stake;
 
     private int roundsToGo;
@@ -57,6 +76,7 @@ public abstract class Player {
         this.table = table;
         this.stake = stake;
         this.roundsToGo = roundsToGo;
+        this.betHooks = BET_HOOKS.get(getClass());
     }
 
     /**
@@ -69,7 +89,11 @@ public abstract class Player {
      * Inform the player that the bet has won
      *
      * @param bet Winning bet
+     * @deprecated Override {@link #settle(int)} instead. For a player that
+     * overrides this method or {@link #lose(Bet)}, games still call these
+     * hooks once for each bet, in place of settle.
      */
+    @Deprecated
     public void win(Bet bet) {
         stake += bet.winAmount();
     }
@@ -78,11 +102,39 @@ public abstract class Player {
      * Inform the player that the bet has lost
      *
      * @param bet Losing bet
+     * @deprecated Override {@link #settle(int)} instead. For a player that
+     * overrides this method or {@link #win(Bet)}, games still call these
+     * hooks once for each bet, in place of settle.
      */
+    @Deprecated
     public void lose(Bet bet) {
         // do nothing for now
     }
 
+    /**
+     * Inform the player of the amount paid back to them at the end of a round.
+     * This is only called for rounds where the player placed bets, and not for
+     * players that override the {@link #win(Bet) win} or {@link #lose(Bet)
+     * lose} hooks.
+     *
+     * @param amount Amount returned from all winning bets, including the
+     * amounts that were bet. This is 0 if none of the bets won.
+     */
+    public void settle(int amount) {
+        stake += amount;
+    }
+
+    /**
+     * Determine if the games should settle this player's bets one at a time
+     * through {@link #win(Bet) win} and {@link #lose(Bet) lose}, because the
+     * player overrides one of them
+     *
+     * @return True if the player overrides win or lose, false otherwise
+     */
+    boolean usesBetHooks() {
+        return betHooks;
+    }
+
     /**
      * Controls when a player leaves a table
      *
@@ -110,6 +162,20 @@ public abstract class Player {
         // do nothing for now
     }
 
+    /**
+     * Notify the player of the winning bin. This is what the game calls after
+     * every spin. A player can test an outcome against the bin with
+     * {@link Wheel#isWinner(Outcome, int) isWinner} or a
+     * {@link Wheel#getCoverage(Outcome) coverage mask}, which is a single bit
+     * test. By default the outcomes of the bin are passed on to
+     * {@link #winners(Set)}.
+     *
+     * @param bin Bin number that was spun. 0 is index 0, and 00 is index 37.
+     */
+    public void winners(int bin) {
+        winners(Wheel.getBin(bin).getOutcomes());
+    }
+
     /**
      * Allow a player to place a bet on the table
      *
@@ -131,16 +197,61 @@ public abstract class Player {
      * table
      */
     protected void placeBet(Bet bet) throws InvalidBetException {
-        try {
-            table.placeBet(bet);
-            stake -= bet.loseAmount();
-            roundsToGo--;
-        } catch (InvalidBetException ex) {
-            Logger.getLogger(Player.class.getName()).log(Level.FINE, null, ex);
+
+        BetStatus status = tryPlaceBet(bet);
+        if (!status.isAccepted()) {
+            InvalidBetException ex = new InvalidBetException();
+            LOGGER.log(Level.FINE, status.toString(), ex);
             throw ex;
         }
     }
 
+    /**
+     * Try to place a bet on the table. A rejected bet is reported through the
+     * returned status rather than an exception, so this is the cheaper choice
+     * for strategies that expect some bets to be rejected.
+     *
+     * @param bet The bet to place
+     * @return {@link BetStatus#ACCEPTED} if the bet was placed, otherwise the
+     * reason it was rejected
+     */
+    protected BetStatus tryPlaceBet(Bet bet) {
+
+        BetStatus status = table.tryPlaceBet(bet);
+        if (status.isAccepted()) {
+            betPlaced(bet.loseAmount());
+        }
+        return status;
+    }
+
+    /**
+     * Try to place a bet for this player on the table, without creating a
+     * {@link Bet} object
+     *
+     * @param amount Amount of the bet to place
+     * @param outcome The outcome to place the bet on
+     * @return {@link BetStatus#ACCEPTED} if the bet was placed, otherwise the
+     * reason it was rejected
+     */
+    protected BetStatus tryPlaceBet(int amount, Outcome outcome) {
+
+        BetStatus status = table.tryPlaceBet(amount, outcome, this);
+        if (status.isAccepted()) {
+            betPlaced(amount);
+        }
+        return status;
+    }
+
+    /**
+     * Take a placed bet out of the stake and count the round
+     *
+     * @param amount Amount of the placed bet
+     */
+    private void betPlaced(int amount) {
+        stake -= amount;
+        roundsToGo--;
+    }
+
     /**
      * Decrement the rounds to go by one
      */
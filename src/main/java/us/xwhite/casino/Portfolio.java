@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+import java.util.Arrays;
+
+/**
+ * All of the bets one player has on the table, compiled into the amount the
+ * player would be paid for each bin of the wheel. The vector is updated as
+ * bets are placed, so settling a spin is a single array read no matter how
+ * many bets the player has made.
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public class Portfolio {
+
+    /**
+     * Shared, read only portfolio for players with no bets on the table
+     */
+    static final Portfolio EMPTY = new Portfolio(true);
+
+    private final int[] returns;
+
+    private int total;
+
+    private int size;
+
+    private final boolean readOnly;
+
+    /**
+     * Create an empty portfolio
+     */
+    public Portfolio() {
+        this(false);
+    }
+
+    /**
+     * Create an empty portfolio
+     *
+     * @param readOnly true if bets may not be added to this portfolio
+     */
+    private Portfolio(boolean readOnly) {
+        returns = new int[Wheel.MAX_BINS];
+        total = 0;
+        size = 0;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Add a bet to this portfolio
+     *
+     * @param bet Bet to add
+     */
+    public void add(Bet bet) {
+        add(bet.loseAmount(), bet.getOutcome());
+    }
+
+    /**
+     * Add a bet to this portfolio
+     *
+     * @param amount Amount of the bet
+     * @param outcome Outcome the bet was placed on
+     * @throws UnsupportedOperationException Thrown if this portfolio is read
+     * only
+     */
+    public void add(int amount, Outcome outcome) {
+
+        if (readOnly) {
+            throw new UnsupportedOperationException("Portfolio is read only");
+        }
+
+        int winAmount = amount + outcome.winAmount(amount);
+        for (long coverage = Wheel.getCoverage(outcome); coverage != 0; coverage &= coverage - 1) {
+            returns[Long.numberOfTrailingZeros(coverage)] += winAmount;
+        }
+
+        total += amount;
+        size++;
+    }
+
+    /**
+     * Get the amount paid back to the player if a bin is spun. This includes
+     * the amount bet on any winning outcomes.
+     *
+     * @param bin Bin number that was spun. 0 is index 0, and 00 is index 37.
+     * @return Amount paid back to the player
+     */
+    public int getReturn(int bin) {
+        return returns[bin];
+    }
+
+    /**
+     * Get the net amount won or lost by the player if a bin is spun
+     *
+     * @param bin Bin number that was spun. 0 is index 0, and 00 is index 37.
+     * @return Amount returned minus the total amount bet
+     */
+    public int getNet(int bin) {
+        return returns[bin] - total;
+    }
+
+    /**
+     * Get the total amount bet
+     *
+     * @return Sum of the amounts of all bets in this portfolio
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Get the number of bets in this portfolio
+     *
+     * @return Number of bets
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Determine if any bets have been added
+     *
+     * @return True if there are no bets in this portfolio, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove all bets from this portfolio
+     *
+     * @throws UnsupportedOperationException Thrown if this portfolio is read
+     * only
+     */
+    public void clear() {
+
+        if (readOnly) {
+            throw new UnsupportedOperationException("Portfolio is read only");
+        }
+
+        Arrays.fill(returns, 0);
+        total = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns the string representation of this object
+     *
+     * @return a string representation of this object
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        result.append("Bets: ").append(size)
+                .append(", Total: ").append(total)
+                .append(", Returns: ").append(Arrays.toString(returns));
+        return result.toString();
+    }
+}
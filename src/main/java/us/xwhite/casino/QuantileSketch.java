@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+/**
+ * Sketch that answers percentile queries on a stream of integers in fixed
+ * memory, without keeping or sorting the values. Values are counted in
+ * logarithmic buckets, as in DDSketch, so every answer is within a set
+ * relative error of the exact answer. Zero and negative values are counted
+ * too.
+ * <p>
+ * Every int has a bucket, so the sketch never grows or drops values. With the
+ * default accuracy of 1% it uses about 17KB. Small values come back exactly,
+ * since an answer is rounded to the nearest integer. Sketches with the same
+ * accuracy can be merged, so each worker of a simulation can keep its own.
+ * Instances are not thread safe.
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public final class QuantileSketch {
+
+    /**
+     * Default relative accuracy of the sketch
+     */
+    public static final double DEFAULT_ACCURACY = 0.01;
+
+    private final double accuracy;
+
+    private final double gamma;
+
+    private final double inverseLogGamma;
+
+    private final long[] positive;
+
+    private final long[] negative;
+
+    private long zeros;
+
+    private long count;
+
+    private int min = Integer.MAX_VALUE;
+
+    private int max = Integer.MIN_VALUE;
+
+    /**
+     * Create a sketch with the default relative accuracy
+     */
+    public QuantileSketch() {
+        this(DEFAULT_ACCURACY);
+    }
+
+    /**
+     * Create a sketch
+     *
+     * @param accuracy Relative accuracy of the answers, such as 0.01 for 1%
+     * @throws IllegalArgumentException Thrown if accuracy is not between 0 and
+     * 1
+     */
+    public QuantileSketch(double accuracy) {
+
+        if (!(accuracy > 0.0 && accuracy < 1.0)) {
+            throw new IllegalArgumentException("Accuracy must be between 0 and 1");
+        }
+
+        this.accuracy = accuracy;
+        this.gamma = (1.0 + accuracy) / (1.0 - accuracy);
+        this.inverseLogGamma = 1.0 / Math.log(gamma);
+
+        // the largest magnitude is 2^31, from Integer.MIN_VALUE
+        int buckets = index(1L << 31) + 1;
+        positive = new long[buckets];
+        negative = new long[buckets];
+    }
+
+    /**
+     * Add a value to the sketch
+     *
+     * @param value Value to add
+     */
+    public void add(int value) {
+
+        if (value > 0) {
+            positive[index(value)]++;
+        } else if (value < 0) {
+            negative[index(-(long) value)]++;
+        } else {
+            zeros++;
+        }
+
+        count++;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Get the relative accuracy of the sketch
+     *
+     * @return Relative accuracy
+     */
+    public double getAccuracy() {
+        return accuracy;
+    }
+
+    /**
+     * Get the number of values added
+     *
+     * @return Number of values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Get the nth percentile of the values added, using the same nearest rank
+     * as {@link IntegerStatistics#NTH_PERCENTILE}
+     *
+     * @param percentile Percentile to get, between 0 and 100
+     * @return Value within the relative accuracy of the exact percentile
+     * @throws IllegalArgumentException Thrown if percentile is not between 0
+     * and 100
+     * @throws IllegalStateException Thrown if no values have been added
+     */
+    public int getPercentile(int percentile) {
+
+        if (percentile <= 0 || percentile >= 100) {
+            throw new IllegalArgumentException("Please use a value between 0 and 100");
+        }
+        if (count == 0) {
+            throw new IllegalStateException("No values have been added");
+        }
+
+        long rank = (percentile * count + 99) / 100 - 1;
+
+        for (int i = negative.length - 1; i >= 0; i--) {
+            rank -= negative[i];
+            if (rank < 0) {
+                return clamp(-value(i));
+            }
+        }
+
+        rank -= zeros;
+        if (rank < 0) {
+            return 0;
+        }
+
+        for (int i = 0; i < positive.length; i++) {
+            rank -= positive[i];
+            if (rank < 0) {
+                return clamp(value(i));
+            }
+        }
+
+        return max;
+    }
+
+    /**
+     * Add all the values of another sketch to this one
+     *
+     * @param other Sketch to merge in
+     * @throws IllegalArgumentException Thrown if other is null or does not
+     * have the same accuracy
+     */
+    public void merge(QuantileSketch other) {
+
+        if (other == null || other.accuracy != accuracy) {
+            throw new IllegalArgumentException("Only sketches with the same accuracy can be merged");
+        }
+
+        for (int i = 0; i < positive.length; i++) {
+            positive[i] += other.positive[i];
+            negative[i] += other.negative[i];
+        }
+        zeros += other.zeros;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    private int index(long magnitude) {
+        return (int) Math.ceil(Math.log(magnitude) * inverseLogGamma);
+    }
+
+    private double value(int index) {
+        return 2.0 * Math.pow(gamma, index) / (gamma + 1.0);
+    }
+
+    private int clamp(double value) {
+        return (int) Math.max(min, Math.min(max, Math.round(value)));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        result.append("Count: ").append(count)
+                .append(", Accuracy: ").append(accuracy);
+        return result.toString();
+    }
+}
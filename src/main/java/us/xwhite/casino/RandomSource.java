@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+import java.util.Random;
+
+/**
+ * Source of random numbers for a {@link Wheel}. Only {@link #nextLong()} must
+ * be implemented; the other methods are built on it but may be overridden by
+ * generators that can do better.
+ * <p>
+ * Bounded values use Lemire's multiply-and-shift method, which is unbiased and
+ * only needs a division in the rare case that a value has to be redrawn.
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public interface RandomSource {
+
+    /**
+     * Get the next 64 random bits
+     *
+     * @return Random long
+     */
+    long nextLong();
+
+    /**
+     * Get the next 32 random bits
+     *
+     * @return Random int
+     */
+    default int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    /**
+     * Get a random value between 0 (inclusive) and bound (exclusive). Every
+     * value is equally likely.
+     *
+     * @param bound Upper bound of the value, must be positive
+     * @return Random value from 0 to bound - 1
+     * @throws IllegalArgumentException Thrown if bound is not positive
+     */
+    default int nextInt(int bound) {
+
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Bound must be positive");
+        }
+
+        long m = (nextInt() & 0xFFFFFFFFL) * bound;
+        long low = m & 0xFFFFFFFFL;
+        if (low < bound) {
+            long threshold = (0x100000000L - bound) % bound;
+            while (low < threshold) {
+                m = (nextInt() & 0xFFFFFFFFL) * bound;
+                low = m & 0xFFFFFFFFL;
+            }
+        }
+
+        return (int) (m >>> 32);
+    }
+
+    /**
+     * Fill a buffer with random values between 0 (inclusive) and bound
+     * (exclusive)
+     *
+     * @param buffer Buffer to fill
+     * @param bound Upper bound of the values, must be positive
+     * @throws IllegalArgumentException Thrown if bound is not positive
+     */
+    default void nextInts(int[] buffer, int bound) {
+        for (int i = 0; i < buffer.length; i++) {
+            buffer[i] = nextInt(bound);
+        }
+    }
+
+    /**
+     * Get a random value between 0.0 (inclusive) and 1.0 (exclusive)
+     *
+     * @return Random double
+     */
+    default double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Use a {@link Random} as a random source. Values are drawn exactly as the
+     * Random would draw them, so this is the reference the faster generators
+     * are measured against.
+     *
+     * @param rng Random number generator to use
+     * @return Random source drawing from rng
+     */
+    static RandomSource of(Random rng) {
+        return new JdkRandomSource(rng);
+    }
+}
@@ -26,11 +26,15 @@
 package us.xwhite.casino;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
+import java.util.function.IntUnaryOperator;
 
 /**
  * Game for playing Roulette. To invoke this game, instantiate the object and
- * call cycle as many times as wished
+ * call cycle as many times as wished, or cycleMany to play a whole batch of
+ * rounds in one loop. Several players can share the table with cycleAll,
+ * which settles all of them from a single spin.
  *
  * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
  */
@@ -80,6 +84,8 @@ public class RouletteGame implements Game {
 
     private final Table table;
 
+    private Player[] roundPlayers = new Player[0];
+
     /**
      * Create a new roulette game
      *
@@ -93,8 +99,8 @@ public class RouletteGame implements Game {
 
     /**
      * Play one cycle of the game. This will take the player, ask the player to
-     * place their bets, spin the wheel and get a winning bin, then notify the
-     * player of all winning and losing bets.
+     * place their bets, spin the wheel and get a winning bin, then settle the
+     * player's bets with a single lookup in their portfolio.
      *
      * @param player Player playing the game
      * @return The winning outcomes. Will return an empty set if the player
@@ -108,20 +114,194 @@ public class RouletteGame implements Game {
         }
 
         player.placeBets();
+        return round(player, wheel.spin());
+    }
+
+    /**
+     * Play one cycle of the game with every player at the table. Each player
+     * who is still playing places their bets, the wheel is spun once, and
+     * every seat is settled with a single lookup in its portfolio, so the
+     * cost of settling grows with the number of seats, not the number of
+     * bets.
+     *
+     * @param players Players sitting at this game's table. Players who have
+     * stopped playing are skipped.
+     * @return The winning outcomes. Will return an empty set if no player
+     * played
+     * @throws IllegalArgumentException Thrown if players is null
+     */
+    public Set<Outcome> cycleAll(List<Player> players) {
 
-        Bin winner = wheel.next();
-        Set<Outcome> winningOutcomes = winner.getOutcomes();
+        if (players == null) {
+            throw new IllegalArgumentException("Players cannot be null");
+        }
 
-        for (Bet bet : table) {
+        if (roundPlayers.length < players.size()) {
+            roundPlayers = new Player[players.size()];
+        }
+        int playing = 0;
+        for (Player player : players) {
+            if (player != null && player.playing()) {
+                player.placeBets();
+                roundPlayers[playing++] = player;
+            }
+        }
 
-            if (winner.contains(bet.getOutcome())) {
-                player.win(bet);
+        if (playing == 0) {
+            return Collections.emptySet();
+        }
+
+        int winner = wheel.spin();
+        settleAll(winner);
+
+        Set<Outcome> winningOutcomes = Wheel.getBin(winner).getOutcomes();
+        for (int i = 0; i < playing; i++) {
+            roundPlayers[i].winners(winner);
+            roundPlayers[i] = null;
+        }
+
+        table.clearBets();
+        return winningOutcomes;
+    }
+
+    /**
+     * Settle every seat with bets on the table
+     *
+     * @param winner Winning bin number
+     */
+    private void settleAll(int winner) {
+
+        boolean betHooks = false;
+        for (int i = 0; i < table.getSeatCount(); i++) {
+            int seat = table.getBettingSeat(i);
+            Player player = table.getPlayer(seat);
+            if (player.usesBetHooks()) {
+                betHooks = true;
             } else {
-                player.lose(bet);
+                player.settle(table.getPortfolio(seat).getReturn(winner));
+            }
+        }
+
+        if (betHooks) {
+            for (Bet bet : table) {
+                if (bet.getPlayer().usesBetHooks()) {
+                    settleBet(bet, winner);
+                }
+            }
+        }
+    }
+
+    /**
+     * Settle one bet through the {@link Player#win(Bet) win} and
+     * {@link Player#lose(Bet) lose} hooks of the player who placed it
+     *
+     * @param bet Bet to settle
+     * @param winner Winning bin number
+     */
+    @SuppressWarnings("deprecation")
+    private void settleBet(Bet bet, int winner) {
+
+        if (Wheel.isWinner(bet.getOutcome(), winner)) {
+            bet.getPlayer().win(bet);
+        } else {
+            bet.getPlayer().lose(bet);
+        }
+    }
+
+    /**
+     * Play up to a number of cycles of the game in one loop, stopping early
+     * once the player stops playing. The wheel is spun once per round, so the
+     * spins are the same as calling {@link #cycle(Player) cycle} in a loop.
+     *
+     * @param player Player playing the game
+     * @param rounds Most rounds to play
+     * @return Summary of the rounds played
+     * @throws IllegalArgumentException Thrown if player is null or rounds is
+     * negative
+     */
+    @Override
+    public CycleSummary cycleMany(Player player, int rounds) {
+
+        if (player == null) {
+            throw new IllegalArgumentException("Player cannot be null");
+        }
+        if (rounds < 0) {
+            throw new IllegalArgumentException("Rounds cannot be negative");
+        }
+
+        return play(player, rounds, played -> wheel.spin());
+    }
+
+    /**
+     * Play a batch of rounds with spins drawn ahead of time, such as from
+     * {@link Wheel#nextSpins(int[]) nextSpins} or a {@link SpinTape}. One
+     * round is played for each spin, stopping early once the player stops
+     * playing. The wheel of this game is not spun.
+     *
+     * @param player Player playing the game
+     * @param spins Winning bin for each round. 0 is index 0, and 00 is index
+     * 37.
+     * @return Summary of the rounds played
+     * @throws IllegalArgumentException Thrown if player or spins is null
+     */
+    public CycleSummary cycleMany(Player player, int[] spins) {
+
+        if (player == null || spins == null) {
+            throw new IllegalArgumentException("Player and spins cannot be null");
+        }
+
+        return play(player, spins.length, played -> spins[played]);
+    }
+
+    /**
+     * Play up to a number of rounds, stopping early once the player stops
+     * playing
+     *
+     * @param player Player playing the game
+     * @param rounds Most rounds to play
+     * @param spins Winning bin for the round with each index
+     * @return Summary of the rounds played
+     */
+    private CycleSummary play(Player player, int rounds, IntUnaryOperator spins) {
+
+        int played = 0;
+        int maxStake = Integer.MIN_VALUE;
+        while (played < rounds && player.playing()) {
+            player.placeBets();
+            round(player, spins.applyAsInt(played));
+            played++;
+            maxStake = Math.max(maxStake, player.getStake());
+        }
+
+        int finalStake = player.getStake();
+        return new CycleSummary(played, (played == 0) ? finalStake : maxStake, finalStake);
+    }
+
+    /**
+     * Settle a round whose bets have been placed
+     *
+     * @param player Player playing the game
+     * @param winner Winning bin number
+     * @return The winning outcomes
+     */
+    private Set<Outcome> round(Player player, int winner) {
+
+        Set<Outcome> winningOutcomes = Wheel.getBin(winner).getOutcomes();
+
+        if (player.usesBetHooks()) {
+            for (Bet bet : table) {
+                if (bet.getPlayer() == player) {
+                    settleBet(bet, winner);
+                }
+            }
+        } else {
+            Portfolio portfolio = table.getPortfolio(player);
+            if (!portfolio.isEmpty()) {
+                player.settle(portfolio.getReturn(winner));
             }
         }
 
-        player.winners(winningOutcomes);
+        player.winners(winner);
         table.clearBets();
         return winningOutcomes;
     }
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+import java.text.MessageFormat;
+
+/**
+ * Outcomes of the roulette wheel that betting strategies commonly use. Each
+ * one is looked up once when this class is loaded, so placing a bet on one of
+ * them does no name or map lookups.
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public final class RouletteOutcomes {
+
+    /**
+     * Outcome for a bet on red
+     */
+    public static final Outcome RED = named("bet.red");
+
+    /**
+     * Outcome for a bet on black
+     */
+    public static final Outcome BLACK = named("bet.black");
+
+    /**
+     * Outcome for a bet on even
+     */
+    public static final Outcome EVEN = named("bet.even");
+
+    /**
+     * Outcome for a bet on odd
+     */
+    public static final Outcome ODD = named("bet.odd");
+
+    /**
+     * Outcome for a bet on high (19-36)
+     */
+    public static final Outcome HIGH = named("bet.high");
+
+    /**
+     * Outcome for a bet on low (1-18)
+     */
+    public static final Outcome LOW = named("bet.low");
+
+    /**
+     * Outcome for a bet on the first dozen (1-12)
+     */
+    public static final Outcome DOZEN_1 = numbered("bet.dozen", 1);
+
+    /**
+     * Outcome for a bet on the second dozen (13-24)
+     */
+    public static final Outcome DOZEN_2 = numbered("bet.dozen", 2);
+
+    /**
+     * Outcome for a bet on the third dozen (25-36)
+     */
+    public static final Outcome DOZEN_3 = numbered("bet.dozen", 3);
+
+    /**
+     * Outcome for a bet on the first column (1, 4, 7, ...)
+     */
+    public static final Outcome COLUMN_1 = numbered("bet.column", 1);
+
+    /**
+     * Outcome for a bet on the second column (2, 5, 8, ...)
+     */
+    public static final Outcome COLUMN_2 = numbered("bet.column", 2);
+
+    /**
+     * Outcome for a bet on the third column (3, 6, 9, ...)
+     */
+    public static final Outcome COLUMN_3 = numbered("bet.column", 3);
+
+    /**
+     * Look up an outcome whose name has no parameters
+     *
+     * @param key Key of the outcome name in the bet names resource bundle
+     * @return The outcome
+     */
+    private static Outcome named(String key) {
+        return Wheel.getOutcome(Wheel.BinBuilder.BETS.getString(key));
+    }
+
+    /**
+     * Look up an outcome whose name contains a number
+     *
+     * @param key Key of the outcome name in the bet names resource bundle
+     * @param number Number to put in the outcome name
+     * @return The outcome
+     */
+    private static Outcome numbered(String key, int number) {
+        return Wheel.getOutcome(MessageFormat.format(Wheel.BinBuilder.BETS.getString(key), number));
+    }
+
+    private RouletteOutcomes() {
+
+    }
+}
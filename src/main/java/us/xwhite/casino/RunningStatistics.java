@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+/**
+ * Statistics on a stream of integers, updated one value at a time in constant
+ * memory. The mean is kept as an exact sum, and the variance uses Welford's
+ * method so it stays accurate without a second pass over the values.
+ * <p>
+ * Statistics gathered separately, such as by each worker of a simulation, can
+ * be combined with {@link #merge(RunningStatistics) merge} without going back
+ * to the values. Instances are not thread safe.
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public final class RunningStatistics {
+
+    private long count;
+
+    private long sum;
+
+    private double mean;
+
+    private double squaredDeviations;
+
+    private int min = Integer.MAX_VALUE;
+
+    private int max = Integer.MIN_VALUE;
+
+    /**
+     * Create an empty set of statistics
+     */
+    public RunningStatistics() {
+    }
+
+    /**
+     * Create a copy of another set of statistics
+     *
+     * @param other Statistics to copy
+     * @throws IllegalArgumentException Thrown if other is null
+     */
+    public RunningStatistics(RunningStatistics other) {
+
+        if (other == null) {
+            throw new IllegalArgumentException("Statistics cannot be null");
+        }
+
+        this.count = other.count;
+        this.sum = other.sum;
+        this.mean = other.mean;
+        this.squaredDeviations = other.squaredDeviations;
+        this.min = other.min;
+        this.max = other.max;
+    }
+
+    /**
+     * Add a value to the statistics
+     *
+     * @param value Value to add
+     */
+    public void add(int value) {
+
+        count++;
+        sum += value;
+
+        double delta = value - mean;
+        mean += delta / count;
+        squaredDeviations += delta * (value - mean);
+
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Add all the values of another set of statistics to this one, using
+     * Chan's method to combine the variances. The result is the same, up to
+     * rounding, no matter how the values were split up.
+     *
+     * @param other Statistics to merge in
+     * @throws IllegalArgumentException Thrown if other is null
+     */
+    public void merge(RunningStatistics other) {
+
+        if (other == null) {
+            throw new IllegalArgumentException("Statistics cannot be null");
+        }
+        if (other.count == 0) {
+            return;
+        }
+
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        squaredDeviations += other.squaredDeviations + delta * delta * count * other.count / total;
+        mean += delta * other.count / total;
+        count = total;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Get the number of values added
+     *
+     * @return Number of values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Get the sum of the values added
+     *
+     * @return Sum of the values
+     */
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * Get the average of the values added
+     *
+     * @return The mean
+     * @throws IllegalStateException Thrown if no values have been added
+     */
+    public double getMean() {
+        requireCount(1);
+        return (double) sum / count;
+    }
+
+    /**
+     * Get the sample variance of the values added
+     *
+     * @return The variance, using n - 1 as the divisor
+     * @throws IllegalStateException Thrown if fewer than two values have been
+     * added
+     */
+    public double getVariance() {
+        requireCount(2);
+        return squaredDeviations / (count - 1);
+    }
+
+    /**
+     * Get the sample standard deviation of the values added
+     *
+     * @return The standard deviation, using n - 1 as the divisor
+     * @throws IllegalStateException Thrown if fewer than two values have been
+     * added
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * Get the smallest value added
+     *
+     * @return The minimum
+     * @throws IllegalStateException Thrown if no values have been added
+     */
+    public int getMin() {
+        requireCount(1);
+        return min;
+    }
+
+    /**
+     * Get the largest value added
+     *
+     * @return The maximum
+     * @throws IllegalStateException Thrown if no values have been added
+     */
+    public int getMax() {
+        requireCount(1);
+        return max;
+    }
+
+    private void requireCount(int needed) {
+        if (count < needed) {
+            throw new IllegalStateException("At least " + needed + " values are needed");
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        result.append("Count: ").append(count);
+        if (count > 0) {
+            result.append(", Mean: ").append(getMean())
+                    .append(", Min: ").append(min)
+                    .append(", Max: ").append(max);
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Random source backed by a {@link SecureRandom}, for runs that must use a
+ * cryptographic generator. Drawing from SecureRandom one value at a time is
+ * slow, so a background thread draws large blocks of random bytes ahead of
+ * time and hands them to the wheel through a lock-free ring buffer.
+ * <p>
+ * The ring holds raw 64 bit values rather than bin numbers, and bounded values
+ * are reduced on the consuming side, so the source stays unbiased for any
+ * bound. Both 32 bit halves of every value are used for ints and bin numbers,
+ * so a spin costs half a value. Only one thread may draw from an instance.
+ * <p>
+ * When the ring is full the background thread parks until the consumer has
+ * drawn half of it, and the consumer wakes it, so an idle source does not use
+ * any CPU. A {@link Wheel} does not close its source; whoever creates the
+ * source owns it and must close it when the run is done to stop the
+ * background thread.
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public final class SecureRandomSource implements RandomSource, AutoCloseable {
+
+    /**
+     * Default number of values held in the ring buffer
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+
+    private static final int BLOCK_SIZE = 256;
+
+    private static final int SPIN_LIMIT = 100;
+
+    private static final long PARK_NANOS = 50_000L;
+
+    private final SecureRandom rng;
+
+    private final long[] ring;
+
+    private final int mask;
+
+    private final AtomicLong head = new AtomicLong();
+
+    private final AtomicLong tail = new AtomicLong();
+
+    private final Thread producer;
+
+    private volatile boolean closed;
+
+    private volatile boolean producerWaiting;
+
+    // only touched by the consuming thread
+    private long position;
+
+    private long available;
+
+    private int spare;
+
+    private boolean hasSpare;
+
+    /**
+     * Create a buffered source using a new SecureRandom and the default
+     * capacity
+     */
+    public SecureRandomSource() {
+        this(new SecureRandom(), DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a buffered source
+     *
+     * @param rng Secure random number generator to draw from
+     * @param capacity Number of values to hold in the ring buffer, must be a
+     * positive power of two
+     * @throws IllegalArgumentException Thrown if rng is null or capacity is not
+     * a positive power of two
+     */
+    public SecureRandomSource(SecureRandom rng, int capacity) {
+
+        if (rng == null) {
+            throw new IllegalArgumentException("SecureRandom cannot be null");
+        }
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a positive power of two");
+        }
+
+        this.rng = rng;
+        this.ring = new long[capacity];
+        this.mask = capacity - 1;
+        this.producer = new Thread(this::produce, "secure-random-source");
+        this.producer.setDaemon(true);
+        this.producer.start();
+    }
+
+    /**
+     * Get the next 64 random bits, waiting for the background thread if the
+     * ring buffer is empty
+     *
+     * @return Random long
+     * @throws IllegalStateException Thrown if the source has been closed
+     */
+    @Override
+    public long nextLong() {
+
+        if (closed) {
+            throw new IllegalStateException("Random source is closed");
+        }
+
+        if (position == available) {
+            available = awaitValues();
+        }
+
+        long value = ring[(int) position & mask];
+        head.lazySet(++position);
+        if (producerWaiting) {
+            wakeProducer();
+        }
+        return value;
+    }
+
+    /**
+     * Get the next 32 random bits. Each value from the ring is split into two
+     * ints, so every other call does not touch the ring.
+     *
+     * @return Random int
+     * @throws IllegalStateException Thrown if the source has been closed
+     */
+    @Override
+    public int nextInt() {
+
+        if (hasSpare && !closed) {
+            hasSpare = false;
+            return spare;
+        }
+
+        long value = nextLong();
+        spare = (int) value;
+        hasSpare = true;
+        return (int) (value >>> 32);
+    }
+
+    /**
+     * Fill a buffer with random values between 0 (inclusive) and bound
+     * (exclusive), using both halves of each value from the ring
+     *
+     * @param buffer Buffer to fill
+     * @param bound Upper bound of the values, must be positive
+     * @throws IllegalArgumentException Thrown if bound is not positive
+     * @throws IllegalStateException Thrown if the source has been closed
+     */
+    @Override
+    public void nextInts(int[] buffer, int bound) {
+
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Bound must be positive");
+        }
+
+        long threshold = (0x100000000L - bound) % bound;
+        int i = 0;
+        while (i < buffer.length) {
+            long value = nextLong();
+
+            long m = (value >>> 32) * bound;
+            if ((m & 0xFFFFFFFFL) >= threshold) {
+                buffer[i++] = (int) (m >>> 32);
+            }
+
+            if (i == buffer.length) {
+                // keep the unused half for the next int
+                spare = (int) value;
+                hasSpare = true;
+                break;
+            }
+
+            m = (value & 0xFFFFFFFFL) * bound;
+            if ((m & 0xFFFFFFFFL) >= threshold) {
+                buffer[i++] = (int) (m >>> 32);
+            }
+        }
+    }
+
+    /**
+     * Stop the background thread. Any further draws will throw an exception.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(producer);
+    }
+
+    private long awaitValues() {
+
+        int spins = 0;
+        long published;
+        while ((published = tail.get()) == position) {
+            if (closed) {
+                throw new IllegalStateException("Random source is closed");
+            }
+            if (producerWaiting) {
+                wakeProducer();
+            }
+            if (++spins < SPIN_LIMIT) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+
+        return published;
+    }
+
+    /**
+     * Unpark the background thread once half of the ring is free. The check
+     * is repeated on every draw while the thread is waiting, so a wakeup can
+     * not be lost.
+     */
+    private void wakeProducer() {
+
+        if (tail.get() - position <= ring.length / 2) {
+            LockSupport.unpark(producer);
+        }
+    }
+
+    private void produce() {
+
+        byte[] bytes = new byte[BLOCK_SIZE * Long.BYTES];
+        ByteBuffer block = ByteBuffer.wrap(bytes);
+        long next = 0L;
+        long consumed = 0L;
+
+        while (!closed) {
+            rng.nextBytes(bytes);
+            block.clear();
+            while (block.hasRemaining() && !closed) {
+                if (next - consumed == ring.length) {
+                    consumed = head.get();
+                    if (next - consumed == ring.length) {
+                        producerWaiting = true;
+                        while (next - head.get() > ring.length / 2 && !closed) {
+                            LockSupport.park(this);
+                        }
+                        producerWaiting = false;
+                        consumed = head.get();
+                        continue;
+                    }
+                }
+                ring[(int) next & mask] = block.getLong();
+                tail.lazySet(++next);
+            }
+        }
+    }
+}
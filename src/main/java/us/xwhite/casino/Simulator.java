@@ -25,14 +25,38 @@
  */
 package us.xwhite.casino;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.function.BiFunction;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Simulator class that will gather information about number of rounds and
  * maximum stake for a player
+ * <p>
+ * Sessions can be played on several threads with {@link #gather(int)}. Each
+ * worker gets its own game from the game factory, so no wheel, table or
+ * random number generator is shared between threads. Results are recorded by
+ * session number, so they are always in the same order no matter which worker
+ * played a session.
+ * <p>
+ * A simulator created with a master seed builds a new game for every session,
+ * seeded from {@link Seeds#forSession(long, long)}. Its results are the same
+ * on any number of threads, and any session can be played again on its own
+ * with {@link #replay(int)}.
+ * <p>
+ * Each session tracks its duration, maximum and final stake as it is played,
+ * and results are stored in int arrays, so memory does not grow with the
+ * length of a session. Running statistics for each result are updated as the
+ * sessions are recorded, so no second pass over the results is needed, and
+ * percentiles can be read from fixed size sketches without sorting.
  *
  * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
  */
@@ -53,15 +77,37 @@ public class Simulator {
      */
     public static final int SAMPLES = 50;
 
-    private final List<Integer> durations;
+    private int[] durations;
 
-    private final List<Integer> maxima;
+    private int[] maxima;
 
-    private final List<Integer> finalStakes;
+    private int[] finalStakes;
+
+    private int size;
+
+    private final RunningStatistics durationStatistics = new RunningStatistics();
+
+    private final RunningStatistics maximaStatistics = new RunningStatistics();
+
+    private final RunningStatistics finalStakeStatistics = new RunningStatistics();
+
+    private final QuantileSketch durationSketch = new QuantileSketch();
+
+    private final QuantileSketch maximaSketch = new QuantileSketch();
+
+    private final QuantileSketch finalStakeSketch = new QuantileSketch();
 
     private final Player.Type playerType;
 
-    private final Game game;
+    private final Supplier<Game> gameFactory;
+
+    private final LongFunction<Game> seededGameFactory;
+
+    private final long masterSeed;
+
+    private final boolean sharedGame;
+
+    private final int samples;
 
     /**
      * Create a new simulator
@@ -70,29 +116,129 @@ public class Simulator {
      * @param player Betting strategy player
      */
     public Simulator(Game game, Player.Type player) {
-        this.playerType = player;
-        this.game = game;
+        this(() -> game, null, 0L, player, SAMPLES, true);
+    }
 
-        durations = new LinkedList<>();
-        maxima = new LinkedList<>();
-        finalStakes = new LinkedList<>();
+    /**
+     * Create a new simulator that can play sessions in parallel
+     *
+     * @param gameFactory Creates a new game, with its own wheel and table,
+     * each time it is called
+     * @param player Betting strategy player
+     * @param samples Number of sessions to play
+     */
+    public Simulator(Supplier<Game> gameFactory, Player.Type player, int samples) {
+        this(gameFactory, null, 0L, player, samples, false);
     }
 
     /**
-     * Play one session of the game and capture statistics
+     * Create a new simulator whose sessions can be reproduced
      *
-     * @return List of player stakes after one round at the table. The last
-     * value will contain the player's ending stake.
+     * @param gameFactory Creates a new game, with its own wheel and table,
+     * whose random number generator is seeded with the value passed in
+     * @param player Betting strategy player
+     * @param samples Number of sessions to play
+     * @param masterSeed Seed the seed of every session is derived from
      */
-    private List<Integer> session() {
+    public Simulator(LongFunction<Game> gameFactory, Player.Type player, int samples, long masterSeed) {
+        this(null, gameFactory, masterSeed, player, samples, false);
+    }
+
+    private Simulator(Supplier<Game> gameFactory, LongFunction<Game> seededGameFactory, long masterSeed,
+            Player.Type player, int samples, boolean sharedGame) {
 
-        List<Integer> stakeValues = new LinkedList<>();
-        Player player = new Player.PlayerBuilder()
+        if (samples <= 0) {
+            throw new IllegalArgumentException("Samples must be greater than 0");
+        }
+
+        this.playerType = player;
+        this.gameFactory = gameFactory;
+        this.seededGameFactory = seededGameFactory;
+        this.masterSeed = masterSeed;
+        this.samples = samples;
+        this.sharedGame = sharedGame;
+
+        durations = new int[samples];
+        maxima = new int[samples];
+        finalStakes = new int[samples];
+    }
+
+    /**
+     * Create a new player for a session
+     *
+     * @param game Game the player will play
+     * @return New player with the initial stake and duration
+     */
+    private Player newPlayer(Game game) {
+        return new Player.PlayerBuilder()
                 .type(playerType)
                 .table(game.getTable())
                 .stake(INIT_STAKE)
                 .roundsToGo(INIT_DURATION)
                 .build();
+    }
+
+    /**
+     * Play one session of the game and capture statistics
+     *
+     * @param game Game to play the session on
+     * @param session Session number to record the statistics under
+     * @param results Results to record into
+     */
+    private void session(Game game, int session, SessionResults results) {
+
+        CycleSummary summary = game.cycleMany(newPlayer(game), Integer.MAX_VALUE);
+        results.durations[session] = summary.getRounds();
+        results.maxima[session] = summary.getMaxStake();
+        results.finalStakes[session] = summary.getFinalStake();
+    }
+
+    /**
+     * Play a range of sessions, recording the results by session number.
+     * Without a master seed the sessions are all played on one game from the
+     * game factory; with one, each session gets its own seeded game.
+     *
+     * @param from First session to play
+     * @param to Session to stop before
+     * @param results Results to record into
+     */
+    private void sessions(int from, int to, SessionResults results) {
+
+        Game workerGame = (seededGameFactory == null) ? gameFactory.get() : null;
+        for (int session = from; session < to; session++) {
+            Game game = (workerGame != null) ? workerGame : seededGame(session);
+            session(game, session, results);
+        }
+    }
+
+    /**
+     * Run a number of simulations
+     */
+    public void gather() {
+
+        SessionResults results = new SessionResults(samples);
+        sessions(0, samples, results);
+        record(results);
+    }
+
+    /**
+     * Play one session again, exactly as it was played by a gather
+     *
+     * @param session Session number to play
+     * @return List of player stakes after each round. The last value will
+     * contain the player's ending stake.
+     * @throws IllegalStateException Thrown if this simulator was not created
+     * with a master seed
+     */
+    public List<Integer> replay(int session) {
+
+        if (seededGameFactory == null) {
+            throw new IllegalStateException("A master seed is needed to replay a session");
+        }
+
+        Game game = seededGame(session);
+        List<Integer> stakeValues = new ArrayList<>();
+        Player player = newPlayer(game);
         while (player.playing()) {
             game.cycle(player);
             stakeValues.add(player.getStake());
@@ -103,29 +249,125 @@ public class Simulator {
     }
 
     /**
-     * Run a number of simulations
+     * Create the game for a session from its seed
+     *
+     * @param session Session number
+     * @return New game seeded for the session
      */
-    public void gather() {
+    private Game seededGame(int session) {
+        return seededGameFactory.apply(Seeds.forSession(masterSeed, session));
+    }
+
+    /**
+     * Run a number of simulations spread over a number of threads. Each worker
+     * plays a contiguous block of sessions on its own game.
+     *
+     * @param workers Number of threads to use
+     * @throws IllegalArgumentException Thrown if workers is less than 1
+     * @throws IllegalStateException Thrown if more than one worker is asked
+     * for but this simulator was created with a single game, or if a session
+     * fails
+     */
+    public void gather(int workers) {
+
+        if (workers < 1) {
+            throw new IllegalArgumentException("Workers must be greater than 0");
+        }
+
+        if (workers > 1 && sharedGame) {
+            throw new IllegalStateException("A game factory is needed to gather with more than one worker");
+        }
+
+        int threads = Math.min(workers, samples);
+        SessionResults results = new SessionResults(samples);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int worker = 0; worker < threads; worker++) {
+                int from = (int) ((long) samples * worker / threads);
+                int to = (int) ((long) samples * (worker + 1) / threads);
+                futures.add(executor.submit(() -> sessions(from, to, results)));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Session failed", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while gathering", ex);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        record(results);
+    }
 
-        for (int session = 0; session < SAMPLES; session++) {
-            List<Integer> sessionInfo = session();
+    /**
+     * Add the results of a gather, in session order
+     *
+     * @param results Results to add
+     */
+    private void record(SessionResults results) {
 
-            finalStakes.add((Integer) ((LinkedList) sessionInfo).removeLast());
+        if (size + samples > durations.length) {
+            int capacity = Math.max(durations.length * 2, size + samples);
+            durations = Arrays.copyOf(durations, capacity);
+            maxima = Arrays.copyOf(maxima, capacity);
+            finalStakes = Arrays.copyOf(finalStakes, capacity);
+        }
 
-            durations.add(sessionInfo.size());
+        System.arraycopy(results.durations, 0, durations, size, samples);
+        System.arraycopy(results.maxima, 0, maxima, size, samples);
+        System.arraycopy(results.finalStakes, 0, finalStakes, size, samples);
+        size += samples;
 
-            int max = Collections.max(sessionInfo);
-            maxima.add(max);
+        for (int session = 0; session < samples; session++) {
+            durationStatistics.add(results.durations[session]);
+            maximaStatistics.add(results.maxima[session]);
+            finalStakeStatistics.add(results.finalStakes[session]);
+            durationSketch.add(results.durations[session]);
+            maximaSketch.add(results.maxima[session]);
+            finalStakeSketch.add(results.finalStakes[session]);
         }
     }
 
+    /**
+     * Copy recorded results into an unmodifiable list
+     *
+     * @param values Results to copy
+     * @return An unmodifiable list of the results
+     */
+    private List<Integer> asList(int[] values) {
+        return Collections.unmodifiableList(Arrays.stream(values, 0, size).boxed().collect(Collectors.toList()));
+    }
+
+    /**
+     * Get the master seed the session seeds are derived from
+     *
+     * @return The master seed, or 0 if this simulator was not created with one
+     */
+    public long getMasterSeed() {
+        return masterSeed;
+    }
+
     /**
      * Get the list of durations
      *
      * @return An unmodifiable list of the durations
      */
     public List<Integer> getDurations() {
-        return Collections.unmodifiableList(durations);
+        return asList(durations);
+    }
+
+    /**
+     * Get the durations without boxing them
+     *
+     * @return A copy of the durations
+     */
+    public int[] getDurationValues() {
+        return Arrays.copyOf(durations, size);
     }
 
     /**
@@ -134,7 +376,16 @@ public class Simulator {
      * @return An unmodifiable list of the maximum stakes
      */
     public List<Integer> getMaxima() {
-        return Collections.unmodifiableList(maxima);
+        return asList(maxima);
+    }
+
+    /**
+     * Get the maximum stakes without boxing them
+     *
+     * @return A copy of the maximum stakes
+     */
+    public int[] getMaximaValues() {
+        return Arrays.copyOf(maxima, size);
     }
 
     /**
@@ -143,6 +394,94 @@ public class Simulator {
      * @return An unmodifiable list of the final stakes
      */
     public List<Integer> getFinalStakes() {
-        return Collections.unmodifiableList(finalStakes);
+        return asList(finalStakes);
+    }
+
+    /**
+     * Get the final stakes without boxing them
+     *
+     * @return A copy of the final stakes
+     */
+    public int[] getFinalStakeValues() {
+        return Arrays.copyOf(finalStakes, size);
+    }
+
+    /**
+     * Get running statistics for the durations
+     *
+     * @return A copy of the statistics for every duration recorded
+     */
+    public RunningStatistics getDurationStatistics() {
+        return new RunningStatistics(durationStatistics);
+    }
+
+    /**
+     * Get running statistics for the maximum stakes
+     *
+     * @return A copy of the statistics for every maximum stake recorded
+     */
+    public RunningStatistics getMaximaStatistics() {
+        return new RunningStatistics(maximaStatistics);
+    }
+
+    /**
+     * Get running statistics for the final stakes
+     *
+     * @return A copy of the statistics for every final stake recorded
+     */
+    public RunningStatistics getFinalStakeStatistics() {
+        return new RunningStatistics(finalStakeStatistics);
+    }
+
+    /**
+     * Get a percentile sketch of the durations
+     *
+     * @return A copy of the sketch of every duration recorded
+     */
+    public QuantileSketch getDurationSketch() {
+        return copyOf(durationSketch);
+    }
+
+    /**
+     * Get a percentile sketch of the maximum stakes
+     *
+     * @return A copy of the sketch of every maximum stake recorded
+     */
+    public QuantileSketch getMaximaSketch() {
+        return copyOf(maximaSketch);
+    }
+
+    /**
+     * Get a percentile sketch of the final stakes
+     *
+     * @return A copy of the sketch of every final stake recorded
+     */
+    public QuantileSketch getFinalStakeSketch() {
+        return copyOf(finalStakeSketch);
+    }
+
+    private static QuantileSketch copyOf(QuantileSketch sketch) {
+        QuantileSketch copy = new QuantileSketch(sketch.getAccuracy());
+        copy.merge(sketch);
+        return copy;
+    }
+
+    /**
+     * Results of a gather, indexed by session number. Each worker writes only
+     * its own sessions, and all writes are seen once the workers are joined.
+     */
+    private static final class SessionResults {
+
+        private final int[] durations;
+
+        private final int[] maxima;
+
+        private final int[] finalStakes;
+
+        private SessionResults(int samples) {
+            durations = new int[samples];
+            maxima = new int[samples];
+            finalStakes = new int[samples];
+        }
     }
 }
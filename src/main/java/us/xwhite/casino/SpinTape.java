@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A recorded sequence of spins, stored in a file with 6 bits per spin. Every
+ * group of four spins is packed little endian into three bytes after a small
+ * header.
+ * <p>
+ * Opening a tape maps the file read only instead of reading it, so tapes far
+ * larger than the heap can be replayed, and processes replaying the same tape
+ * share a single copy of it in the page cache. A tape is never modified after
+ * it is opened, so one tape can be shared by many threads, each replaying it
+ * through its own {@link #cursor() cursor}.
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public final class SpinTape {
+
+    private static final int MAGIC = 0x5350494E;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 16;
+
+    private static final int BATCH_SIZE = 4096;
+
+    // spins per mapped segment, a multiple of four so groups never straddle
+    private static final long SEGMENT_SPINS = 1L << 30;
+
+    private static final int SEGMENT_SHIFT = 30;
+
+    private final MappedByteBuffer[] segments;
+
+    private final long size;
+
+    private SpinTape(MappedByteBuffer[] segments, long size) {
+        this.segments = segments;
+        this.size = size;
+    }
+
+    /**
+     * Spin a wheel and record the spins to a tape file. Any existing file is
+     * replaced.
+     *
+     * @param wheel Wheel to spin
+     * @param spins Number of spins to record
+     * @param path File to write the tape to
+     * @throws IOException Thrown if the file can not be written
+     * @throws IllegalArgumentException Thrown if wheel or path is null or
+     * spins is negative
+     */
+    public static void record(Wheel wheel, long spins, Path path) throws IOException {
+
+        if (wheel == null || path == null) {
+            throw new IllegalArgumentException("Wheel and path cannot be null");
+        }
+        if (spins < 0) {
+            throw new IllegalArgumentException("Spins cannot be negative");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putLong(spins).flip();
+            writeFully(channel, header);
+
+            int[] batch = new int[BATCH_SIZE];
+            ByteBuffer packed = ByteBuffer.allocate(BATCH_SIZE / 4 * 3);
+            long remaining = spins;
+            while (remaining > 0) {
+                int count = (int) Math.min(BATCH_SIZE, remaining);
+                if (count < batch.length) {
+                    // draw only the spins being recorded, so the wheel is left
+                    // just after the last one
+                    batch = new int[count];
+                }
+                wheel.nextSpins(batch);
+
+                packed.clear();
+                for (int i = 0; i < count; i += 4) {
+                    int group = batch[i]
+                            | (i + 1 < count ? batch[i + 1] << 6 : 0)
+                            | (i + 2 < count ? batch[i + 2] << 12 : 0)
+                            | (i + 3 < count ? batch[i + 3] << 18 : 0);
+                    packed.put((byte) group).put((byte) (group >>> 8)).put((byte) (group >>> 16));
+                }
+                packed.flip();
+                writeFully(channel, packed);
+                remaining -= count;
+            }
+        }
+    }
+
+    /**
+     * Open a tape file for replay
+     *
+     * @param path Tape file to open
+     * @return Tape mapped from the file
+     * @throws IOException Thrown if the file can not be read
+     * @throws IllegalArgumentException Thrown if path is null or the file is
+     * not a spin tape
+     */
+    public static SpinTape open(Path path) throws IOException {
+
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is full or the file ends
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IllegalArgumentException("File is not a spin tape");
+            }
+
+            long size = header.getLong();
+            if (size < 0 || channel.size() < HEADER_BYTES + packedBytes(size)) {
+                throw new IllegalArgumentException("Spin tape is truncated");
+            }
+
+            int count = (int) ((size + SEGMENT_SPINS - 1) >>> SEGMENT_SHIFT);
+            MappedByteBuffer[] segments = new MappedByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                long first = (long) i << SEGMENT_SHIFT;
+                long spins = Math.min(SEGMENT_SPINS, size - first);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_BYTES + packedBytes(first), packedBytes(spins));
+            }
+
+            return new SpinTape(segments, size);
+        }
+    }
+
+    /**
+     * Get the number of spins on the tape
+     *
+     * @return Number of spins
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Get a spin from the tape
+     *
+     * @param index Position of the spin, starting from 0
+     * @return Bin number. 0 is index 0, and 00 is index 37.
+     * @throws IndexOutOfBoundsException Thrown if index is not on the tape
+     */
+    public int get(long index) {
+
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Spin " + index + " is not on the tape");
+        }
+
+        return read(index);
+    }
+
+    /**
+     * Get a spin source that replays the tape from the start
+     *
+     * @return New cursor at the start of the tape
+     */
+    public SpinSource cursor() {
+        return cursor(0L);
+    }
+
+    /**
+     * Get a spin source that replays the tape from a position. The cursor
+     * throws an IllegalStateException once the end of the tape is reached.
+     *
+     * @param start Position of the first spin to replay
+     * @return New cursor at the position
+     * @throws IndexOutOfBoundsException Thrown if start is not on the tape
+     */
+    public SpinSource cursor(long start) {
+
+        if (start < 0 || start > size) {
+            throw new IndexOutOfBoundsException("Spin " + start + " is not on the tape");
+        }
+
+        return new Cursor(start);
+    }
+
+    private int read(long index) {
+
+        MappedByteBuffer segment = segments[(int) (index >>> SEGMENT_SHIFT)];
+        long bit = (index & (SEGMENT_SPINS - 1)) * 6;
+        int position = (int) (bit >>> 3);
+        int shift = (int) (bit & 7);
+
+        int bits = segment.get(position) & 0xFF;
+        if (shift > 2) {
+            bits |= (segment.get(position + 1) & 0xFF) << 8;
+        }
+
+        return (bits >>> shift) & 0x3F;
+    }
+
+    private static long packedBytes(long spins) {
+        return (spins + 3) / 4 * 3;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private final class Cursor implements SpinSource {
+
+        private long position;
+
+        private Cursor(long position) {
+            this.position = position;
+        }
+
+        @Override
+        public int nextSpin() {
+
+            if (position >= size) {
+                throw new IllegalStateException("Spin tape is exhausted");
+            }
+
+            return read(position++);
+        }
+
+        @Override
+        public void nextSpins(int[] buffer) {
+
+            if (size - position < buffer.length) {
+                throw new IllegalStateException("Spin tape is exhausted");
+            }
+
+            int i = 0;
+            while (i < buffer.length && (position & 3) != 0) {
+                buffer[i++] = read(position++);
+            }
+
+            // whole groups of four spins are three bytes in the same segment
+            while (buffer.length - i >= 4) {
+                MappedByteBuffer segment = segments[(int) (position >>> SEGMENT_SHIFT)];
+                int offset = (int) ((position & (SEGMENT_SPINS - 1)) / 4 * 3);
+                int group = (segment.get(offset) & 0xFF)
+                        | (segment.get(offset + 1) & 0xFF) << 8
+                        | (segment.get(offset + 2) & 0xFF) << 16;
+                buffer[i] = group & 0x3F;
+                buffer[i + 1] = (group >>> 6) & 0x3F;
+                buffer[i + 2] = (group >>> 12) & 0x3F;
+                buffer[i + 3] = (group >>> 18) & 0x3F;
+                i += 4;
+                position += 4;
+            }
+
+            while (i < buffer.length) {
+                buffer[i++] = read(position++);
+            }
+        }
+    }
+}
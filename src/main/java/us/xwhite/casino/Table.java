@@ -25,13 +25,28 @@
  */
 package us.xwhite.casino;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
 /**
- * Table to contain all bets for a spin of the wheel
+ * Table to contain all bets for a spin of the wheel. Each player's running
+ * total is kept in their {@link Portfolio} and each bet is stamped with the
+ * epoch it was placed in, so checking a bet takes the same time no matter how
+ * many bets are on the table.
+ * <p>
+ * Bets are kept in a {@link BetStore} that is reused between spins. Clearing
+ * the table only starts a new epoch of the store. Each seat is stamped with
+ * the epoch it last had bets in, and a seat from an older epoch is emptied
+ * the next time its player bets, so clearing does no work per seat.
+ * <p>
+ * Players keep their seat between spins. A player without a seat is given a
+ * seat that has no bets in the current epoch, if there is one, so a table
+ * never has more seats than the most players betting on one spin.
  *
  * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
  */
@@ -39,7 +54,15 @@ public class Table implements Iterable<Bet> {
 
     private final int limit;
 
-    private final List<Bet> bets;
+    private final BetStore bets;
+
+    private final Map<Player, Seat> seats;
+
+    private final List<Seat> seatsByNumber;
+
+    private int[] bettingSeats;
+
+    private int seatCount;
 
     /**
      * Create a table with the specified table limit
@@ -47,7 +70,11 @@ public class Table implements Iterable<Bet> {
      * @param tableLimit Upper limit for bet amounts that one player may make
      */
     public Table(int tableLimit) {
-        bets = new LinkedList<>();
+        bets = new BetStore();
+        seats = new HashMap<>();
+        seatsByNumber = new ArrayList<>();
+        bettingSeats = new int[16];
+        seatCount = 0;
         this.limit = tableLimit;
     }
 
@@ -63,13 +90,19 @@ public class Table implements Iterable<Bet> {
             return false;
         }
 
-        int total = 0;
-        total = bets.stream()
-                .filter((placedBets) -> (bet.getPlayer().equals(placedBets.getPlayer())))
-                .map((placedBets) -> placedBets.loseAmount())
-                .reduce(total, Integer::sum);
+        return isValid(bet.getPlayer(), bet.loseAmount());
+    }
+
+    /**
+     * Check that a bet amount would not exceed the table limit for a player
+     *
+     * @param player Player making the bet
+     * @param amount Amount of the bet
+     * @return True if the bet would be valid, false otherwise
+     */
+    private boolean isValid(Player player, int amount) {
 
-        return (total + bet.loseAmount() <= limit);
+        return (getPortfolio(player).getTotal() + amount <= limit);
     }
 
     /**
@@ -81,28 +114,273 @@ public class Table implements Iterable<Bet> {
      */
     public void placeBet(Bet bet) throws InvalidBetException {
 
-        if (!isValid(bet) || bets.contains(bet)) {
+        if (!tryPlaceBet(bet).isAccepted()) {
             throw new InvalidBetException();
         }
+    }
+
+    /**
+     * Try to place the bet on the table. Unlike {@link #placeBet(Bet)}, a
+     * rejected bet is reported through the returned status rather than an
+     * exception.
+     *
+     * @param bet Bet to place
+     * @return {@link BetStatus#ACCEPTED} if the bet was placed, otherwise the
+     * reason it was rejected
+     */
+    public BetStatus tryPlaceBet(Bet bet) {
 
-        bets.add(bet);
+        if (bet == null) {
+            return BetStatus.INVALID;
+        }
+
+        if (!isValid(bet.getPlayer(), bet.loseAmount())) {
+            return BetStatus.OVER_LIMIT;
+        }
+
+        if (!bet.markPlaced(bets)) {
+            return BetStatus.DUPLICATE;
+        }
+
+        Seat seat = getSeat(bet.getPlayer());
+        bets.add(bet, bet.loseAmount(), bet.getOutcome().getId(), seat.number);
+        seat.portfolio.add(bet.loseAmount(), bet.getOutcome());
+        return BetStatus.ACCEPTED;
     }
-    
+
+    /**
+     * Place a bet on the table without creating a {@link Bet} object
+     *
+     * @param amount Amount to wager
+     * @param outcome Outcome to bet on
+     * @param player Player placing the bet
+     * @throws InvalidBetException Thrown if bet is invalid or would exceed table
+     * limit
+     */
+    public void placeBet(int amount, Outcome outcome, Player player) throws InvalidBetException {
+
+        if (!tryPlaceBet(amount, outcome, player).isAccepted()) {
+            throw new InvalidBetException();
+        }
+    }
+
+    /**
+     * Try to place a bet on the table without creating a {@link Bet} object.
+     * A rejected bet is reported through the returned status rather than an
+     * exception.
+     * <p>
+     * Duplicates are found by {@link Bet} object, and there is no object to
+     * compare here, so this never returns {@link BetStatus#DUPLICATE}. Each
+     * call is a separate bet, and bets by one player on the same outcome add
+     * up in the player's portfolio.
+     *
+     * @param amount Amount to wager
+     * @param outcome Outcome to bet on
+     * @param player Player placing the bet
+     * @return {@link BetStatus#ACCEPTED} if the bet was placed, otherwise the
+     * reason it was rejected
+     */
+    public BetStatus tryPlaceBet(int amount, Outcome outcome, Player player) {
+
+        if (amount == 0 || outcome == null || player == null) {
+            return BetStatus.INVALID;
+        }
+
+        if (!isValid(player, amount)) {
+            return BetStatus.OVER_LIMIT;
+        }
+
+        Seat seat = getSeat(player);
+        bets.add(null, amount, outcome.getId(), seat.number);
+        seat.portfolio.add(amount, outcome);
+        return BetStatus.ACCEPTED;
+    }
+
+    /**
+     * Get the bets a player has placed on the table, compiled into a portfolio
+     *
+     * @param player Player to get the bets for
+     * @return The player's portfolio. If the player has not placed any bets
+     * this is a shared, read only empty portfolio, and the player is not given
+     * a seat.
+     */
+    public Portfolio getPortfolio(Player player) {
+        return currentPortfolio(seats.get(player));
+    }
+
+    /**
+     * Get the bets placed from a seat, compiled into a portfolio
+     *
+     * @param seat Seat number from the {@link BetStore}
+     * @return Portfolio of the player in the seat. This is a shared, read only
+     * empty portfolio if no bets were placed from the seat.
+     */
+    public Portfolio getPortfolio(int seat) {
+        return currentPortfolio(seatsByNumber.get(checkSeat(seat)));
+    }
+
+    /**
+     * Get the portfolio of a seat if it has bets in the current epoch
+     *
+     * @param seat Seat to get the portfolio of, may be null
+     * @return The seat's portfolio, or an empty portfolio if the seat has no
+     * bets
+     */
+    private Portfolio currentPortfolio(Seat seat) {
+        return (seat == null || seat.epoch != bets.getEpoch()) ? Portfolio.EMPTY : seat.portfolio;
+    }
+
+    /**
+     * Get the bets placed on the table. This is a live view that is emptied
+     * when the bets are cleared.
+     *
+     * @return Bets placed on the table
+     */
+    public BetStore getBets() {
+        return bets;
+    }
+
+    /**
+     * Get the player sitting in a seat
+     *
+     * @param seat Seat number from the {@link BetStore}
+     * @return Player in the seat
+     */
+    public Player getPlayer(int seat) {
+        return seatsByNumber.get(checkSeat(seat)).player;
+    }
+
+    /**
+     * Get the number of seats with bets on the table
+     *
+     * @return Number of seats that placed a bet since the bets were last
+     * cleared
+     */
+    public int getSeatCount() {
+        return seatCount;
+    }
+
+    /**
+     * Get the seat number of one of the seats with bets on the table
+     *
+     * @param index Index between 0 and {@link #getSeatCount()}, in the order
+     * the seats placed their first bet since the bets were last cleared
+     * @return Seat number
+     */
+    public int getBettingSeat(int index) {
+
+        if (index < 0 || index >= seatCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + seatCount);
+        }
+
+        return bettingSeats[index];
+    }
+
+    private int checkSeat(int seat) {
+
+        if (seat < 0 || seat >= seatsByNumber.size()) {
+            throw new IndexOutOfBoundsException("No player in seat " + seat);
+        }
+
+        return seat;
+    }
+
+    /**
+     * Find the seat of a player for a new bet, giving them a seat if they do
+     * not have one yet, and emptying it if its bets are from an older epoch
+     *
+     * @param player Player to find the seat of
+     * @return The player's seat
+     */
+    private Seat getSeat(Player player) {
+
+        int epoch = bets.getEpoch();
+        Seat seat = seats.get(player);
+        if (seat == null) {
+            seat = findIdleSeat(epoch);
+            if (seat == null) {
+                seat = new Seat(seatsByNumber.size(), epoch - 1);
+                seatsByNumber.add(seat);
+            } else {
+                seats.remove(seat.player);
+            }
+
+            seat.player = player;
+            seats.put(player, seat);
+        }
+
+        if (seat.epoch != epoch) {
+            seat.portfolio.clear();
+            seat.epoch = epoch;
+            if (seatCount == bettingSeats.length) {
+                bettingSeats = Arrays.copyOf(bettingSeats, seatCount * 2);
+            }
+            bettingSeats[seatCount++] = seat.number;
+        }
+
+        return seat;
+    }
+
+    /**
+     * Find a seat with no bets in the current epoch. This is only needed when
+     * a player without a seat bets.
+     *
+     * @param epoch Current epoch of the bet store
+     * @return An idle seat, or null if every seat has bets
+     */
+    private Seat findIdleSeat(int epoch) {
+
+        for (Seat seat : seatsByNumber) {
+            if (seat.epoch != epoch) {
+                return seat;
+            }
+        }
+
+        return null;
+    }
+
     /**
      * Remove all bets from the table
      */
     public void clearBets() {
         bets.clear();
+        seatCount = 0;
     }
 
     /**
-     * Get an unmodifiable iterator for the placed bets
+     * Get an unmodifiable iterator for the placed bets. Bets that were placed
+     * without a {@link Bet} object are created as they are reached.
      *
      * @return Iterator for bets
      */
     @Override
     public Iterator<Bet> iterator() {
-        return Collections.unmodifiableList(bets).iterator();
+
+        return new Iterator<Bet>() {
+
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < bets.size();
+            }
+
+            @Override
+            public Bet next() {
+
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                Bet bet = bets.getBet(next);
+                if (bet == null) {
+                    bet = new Bet(bets.getAmount(next), OutcomeRegistry.get(bets.getOutcomeId(next)), getPlayer(bets.getSeat(next)));
+                }
+
+                next++;
+                return bet;
+            }
+        };
     }
 
     /**
@@ -112,10 +390,34 @@ public class Table implements Iterable<Bet> {
      */
     @Override
     public String toString() {
+        List<Bet> placed = new ArrayList<>(bets.size());
+        forEach(placed::add);
+
         StringBuilder result = new StringBuilder();
         result.append("Table limit: ").append(limit)
-                .append(", Placed bets: ").append(bets.toString());
+                .append(", Placed bets: ").append(placed.toString());
         return result.toString();
     }
 
+    /**
+     * A player's place at the table
+     */
+    private static final class Seat {
+
+        private Player player;
+
+        private final int number;
+
+        private final Portfolio portfolio;
+
+        // epoch of the bet store that the portfolio was built in
+        private int epoch;
+
+        private Seat(int number, int epoch) {
+            this.player = null;
+            this.number = number;
+            this.portfolio = new Portfolio();
+            this.epoch = epoch;
+        }
+    }
 }
@@ -26,7 +26,6 @@
 package us.xwhite.casino;
 
 import java.text.MessageFormat;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -41,6 +40,21 @@ import java.util.ResourceBundle;
  * Wheel for a Roulette game. This wheel will contain a collection of bins and
  * allow the game to randomly select a bin with a spin of the wheel. Use the
  * WheelBuilder to get an instance of the wheel.
+ * <p>
+ * The bin layout is the same for every wheel, so it is built once when this
+ * class is loaded and shared by all instances. The layout is never modified
+ * after it is built, which makes it safe to build and spin wheels from many
+ * threads at the same time.
+ * <p>
+ * Each outcome also has a coverage mask, with bit n set when bin n contains
+ * the outcome. Settling a bet is then a shift and a mask instead of a search
+ * of the winning bin.
+ * <p>
+ * Wheels are fair unless bin weights are given to the WheelBuilder. A
+ * weighted wheel models a biased or worn wheel. It uses the same bins and
+ * still spins in constant time using an {@link AliasTable}. A wheel can also
+ * replay recorded spins from a {@link SpinSource} such as a {@link SpinTape},
+ * so different strategies can be run against exactly the same spins.
  *
  * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
  */
@@ -51,28 +65,49 @@ public class Wheel {
      */
     public static final int MAX_BINS = 38;
 
-    private final List<Bin> bins;
-
-    private final Random rng;
+    private static final List<Bin> BINS;
 
     private static final Map<String, Outcome> ALL_OUTCOMES;
 
+    private static final long[] COVERAGE;
+
     static {
-        ALL_OUTCOMES = new HashMap<>();
+        BINS = BinBuilder.buildBins();
+
+        Map<String, Outcome> outcomes = new HashMap<>();
+        for (Bin bin : BINS) {
+            for (Outcome outcome : bin.getOutcomes()) {
+                outcomes.putIfAbsent(outcome.getName(), outcome);
+            }
+        }
+        ALL_OUTCOMES = Collections.unmodifiableMap(outcomes);
+
+        int maxId = outcomes.values().stream().mapToInt(Outcome::getId).max().orElse(-1);
+        COVERAGE = new long[maxId + 1];
+        for (int bin = 0; bin < MAX_BINS; bin++) {
+            for (Outcome outcome : BINS.get(bin).getOutcomes()) {
+                COVERAGE[outcome.getId()] |= 1L << bin;
+            }
+        }
     }
 
+    private final RandomSource rng;
+
+    private final AliasTable weights;
+
+    private final SpinSource spins;
+
     /**
-     * Create a Wheel with a random number generator from WheelBuilder
+     * Create a Wheel with a random source and optional bin weights, or a
+     * source of recorded spins, from WheelBuilder
      *
-     * @param builder Builder to fetch rng from
+     * @param builder Builder to fetch the random source, weights and spins
+     * from
      */
     private Wheel(WheelBuilder builder) {
-        this.bins = new ArrayList<>(MAX_BINS);
         this.rng = builder.rng;
-
-        for (int i = 0; i < MAX_BINS; i++) {
-            bins.add(new Bin());
-        }
+        this.weights = builder.weights;
+        this.spins = builder.spins;
     }
 
     /**
@@ -84,11 +119,12 @@ public class Wheel {
      */
     public static Outcome getOutcome(String name) {
 
-        if (!ALL_OUTCOMES.containsKey(name)) {
+        Outcome outcome = ALL_OUTCOMES.get(name);
+        if (outcome == null) {
             throw new IllegalArgumentException("Unknown outcome");
         }
 
-        return ALL_OUTCOMES.get(name);
+        return outcome;
     }
 
     /**
@@ -97,47 +133,125 @@ public class Wheel {
      * @return Unmodifiable collection of all outcomes
      */
     public static Collection<Outcome> getOutcomes() {
-        return Collections.unmodifiableCollection(ALL_OUTCOMES.values());
+        return ALL_OUTCOMES.values();
     }
 
     /**
-     * Spin the wheel and get the next random bin
+     * Get the coverage mask for an outcome. Bit n of the mask is set when bin n
+     * contains the outcome.
      *
-     * @return Bin that was randomly selected
+     * @param outcome Outcome to get the coverage for
+     * @return Coverage mask, or 0 if the outcome is not on the wheel
      */
-    public Bin next() {
-        return get(rng.nextInt(MAX_BINS));
+    public static long getCoverage(Outcome outcome) {
+        return getCoverage(outcome.getId());
+    }
+
+    /**
+     * Get the coverage mask for an outcome by its id, such as one read from
+     * a {@link BetStore}
+     *
+     * @param id Id of the outcome
+     * @return Coverage mask, or 0 if the outcome is not on the wheel
+     */
+    public static long getCoverage(int id) {
+        return (id >= 0 && id < COVERAGE.length) ? COVERAGE[id] : 0L;
     }
 
     /**
-     * Get the bin at the specified location
+     * Determine if an outcome wins when a bin is spun
+     *
+     * @param outcome Outcome to test
+     * @param bin Bin number that was spun. 0 is index 0, and 00 is index 37.
+     * @return True if the bin contains the outcome, false otherwise
+     */
+    public static boolean isWinner(Outcome outcome, int bin) {
+        return ((getCoverage(outcome) >>> bin) & 1L) != 0;
+    }
+
+    /**
+     * Get the shared, read only bin at the specified location. No copy is
+     * made, so this is safe to call for every spin.
      *
      * @param bin Bin number to fetch. 0 is index 0, and 00 is index 37.
      * @return Bin at this location
      */
-    private Bin get(int bin) {
-        return Bin.of(bins.get(bin));
+    public static Bin getBin(int bin) {
+        return BINS.get(bin);
+    }
+
+    /**
+     * Spin the wheel and get the number of the next random bin. Pair this with
+     * {@link #getBin(int) getBin} to spin without creating any objects.
+     *
+     * @return Bin number that was randomly selected. 0 is index 0, and 00 is
+     * index 37.
+     */
+    public int spin() {
+
+        if (spins != null) {
+            return spins.nextSpin();
+        }
+
+        return weights == null ? rng.nextInt(MAX_BINS) : weights.sample(rng);
     }
 
     /**
-     * Add an outcome to the bin
+     * Get the chance that a spin of this wheel lands on a bin
      *
-     * @param bin Bin on the wheel to add the outcome to. 0 is index 0, and 00
-     * is index 37.
-     * @param outcome Outcome to add
-     * @return true (returned from List.add)
+     * @param bin Bin number to check. 0 is index 0, and 00 is index 37.
+     * @return Chance from 0.0 to 1.0 of landing on the bin
+     * @throws IndexOutOfBoundsException Thrown if bin is not on the wheel
+     * @throws UnsupportedOperationException Thrown if the wheel replays
+     * recorded spins
      */
-    private boolean add(int bin, Outcome outcome) {
+    public double getProbability(int bin) {
 
+        if (spins != null) {
+            throw new UnsupportedOperationException("Wheel replays recorded spins");
+        }
+
+        if (weights != null) {
+            return weights.getProbability(bin);
+        }
         if (bin < 0 || bin >= MAX_BINS) {
-            throw new IndexOutOfBoundsException("Index value must be between 0 and Wheel.MAX_BINS");
+            throw new IndexOutOfBoundsException("Bin " + bin + " is not on the wheel");
         }
 
-        if (!ALL_OUTCOMES.containsKey(outcome.getName())) {
-            ALL_OUTCOMES.put(outcome.getName(), outcome);
+        return 1.0 / MAX_BINS;
+    }
+
+    /**
+     * Spin the wheel and get a copy of the next random bin
+     *
+     * @return Bin that was randomly selected
+     */
+    public Bin next() {
+        return Bin.of(getBin(spin()));
+    }
+
+    /**
+     * Spin the wheel once for every slot of the buffer. This is faster than
+     * calling {@link #spin() spin} in a loop, since the random source can fill
+     * the whole batch at once.
+     *
+     * @param buffer Buffer to fill with bin numbers. 0 is index 0, and 00 is
+     * index 37.
+     * @throws IllegalArgumentException Thrown if buffer is null
+     */
+    public void nextSpins(int[] buffer) {
+
+        if (buffer == null) {
+            throw new IllegalArgumentException("Buffer cannot be null");
         }
 
-        return bins.get(bin).add(outcome);
+        if (spins != null) {
+            spins.nextSpins(buffer);
+        } else if (weights == null) {
+            rng.nextInts(buffer, MAX_BINS);
+        } else {
+            weights.sample(rng, buffer);
+        }
     }
 
     /**
@@ -145,7 +259,11 @@ public class Wheel {
      */
     public static class WheelBuilder {
 
-        private Random rng;
+        private RandomSource rng;
+
+        private AliasTable weights;
+
+        private SpinSource spins;
 
         /**
          * Get a new instance of the builder
@@ -160,7 +278,55 @@ public class Wheel {
          * @return Instance of WheelBuilder
          */
         public WheelBuilder rng(Random rng) {
-            this.rng = rng;
+            this.rng = rng == null ? null : RandomSource.of(rng);
+            return this;
+        }
+
+        /**
+         * Set the random source that the wheel should use, such as a
+         * {@link Xoroshiro128PlusPlus} or {@link Pcg32}. The wheel never
+         * closes the source, so a source that holds resources, such as a
+         * {@link SecureRandomSource}, must be closed by the caller.
+         *
+         * @param source Random source for the wheel
+         * @return Instance of WheelBuilder
+         */
+        public WheelBuilder source(RandomSource source) {
+            this.rng = source;
+            return this;
+        }
+
+        /**
+         * Give each bin a weight to make a biased wheel. Each bin is spun in
+         * proportion to its weight, so the weights do not need to add up to
+         * one.
+         *
+         * @param weights Weight of each bin, with 0 at index 0 and 00 at
+         * index 37
+         * @return Instance of WheelBuilder
+         * @throws IllegalArgumentException Thrown if there is not one weight
+         * per bin, if a weight is negative or not finite, or if all weights
+         * are zero
+         */
+        public WheelBuilder weights(double... weights) {
+
+            if (weights == null || weights.length != MAX_BINS) {
+                throw new IllegalArgumentException("Please provide " + MAX_BINS + " weights");
+            }
+
+            this.weights = new AliasTable(weights);
+            return this;
+        }
+
+        /**
+         * Replay recorded spins instead of drawing them from a random source
+         *
+         * @param spins Source of recorded spins, such as a
+         * {@link SpinTape#cursor() SpinTape cursor}
+         * @return Instance of WheelBuilder
+         */
+        public WheelBuilder spins(SpinSource spins) {
+            this.spins = spins;
             return this;
         }
 
@@ -168,24 +334,26 @@ public class Wheel {
          * Create an instance of the wheel
          *
          * @return New instance of wheel
-         * @throws IllegalArgumentException Thrown if rng is not set
+         * @throws IllegalArgumentException Thrown if neither rng nor spins is
+         * set, or if weights are set for a wheel that replays spins
          */
         public Wheel build() {
 
-            if (rng == null) {
+            if (spins != null && weights != null) {
+                throw new IllegalArgumentException("Weights cannot be used when replaying spins");
+            }
+            if (rng == null && spins == null) {
                 throw new IllegalArgumentException("Please set rng first");
             }
 
-            Wheel wheel = new Wheel(this);
-            BinBuilder.buildBins(wheel);
-            return wheel;
+            return new Wheel(this);
         }
     }
 
     /**
      * Helper class to generate all the outcomes for a Roulette game. The
-     * {@link #buildBins(Wheel) buildBins} method is a useful entry method to
-     * call all other methods.
+     * {@link #buildBins() buildBins} method is a useful entry method to call
+     * all other methods.
      */
     public static class BinBuilder {
 
@@ -198,120 +366,160 @@ public class Wheel {
             BETS = ResourceBundle.getBundle("BetNames", Locale.ENGLISH);
         }
 
+        private static final List<Integer> RED_BINS = Arrays.asList(1, 3, 5, 7, 9, 12, 14, 16, 18, 19, 21, 23, 25, 27, 30, 32, 34, 36);
+
         /**
-         * Build all outcomes and place into bins for a wheel
+         * Build all outcomes and place them into a new set of bins
          *
-         * @param wheel Wheel to place outcomes into
+         * @return Unmodifiable list of {@link Wheel#MAX_BINS} read only bins
          */
-        private static void buildBins(Wheel wheel) {
-
-            generateStraightBets(wheel);
-            generateSplitBets(wheel);
-            generateStreetBets(wheel);
-            generateConerBets(wheel);
-            generateLineBets(wheel);
-            generateDozenBets(wheel);
-            generateColumnBets(wheel);
-            generateEvenMoneyBets(wheel);
+        private static List<Bin> buildBins() {
+
+            Bin[] bins = newBins();
+            generateStraightBets(bins);
+            generateSplitBets(bins);
+            generateStreetBets(bins);
+            generateConerBets(bins);
+            generateLineBets(bins);
+            generateDozenBets(bins);
+            generateColumnBets(bins);
+            generateEvenMoneyBets(bins);
+
+            for (int i = 0; i < MAX_BINS; i++) {
+                bins[i] = Bin.readOnlyOf(bins[i]);
+            }
+            return Collections.unmodifiableList(Arrays.asList(bins));
+        }
+
+        /**
+         * Create an empty set of bins
+         *
+         * @return Array of {@link Wheel#MAX_BINS} empty bins
+         */
+        private static Bin[] newBins() {
+
+            Bin[] bins = new Bin[MAX_BINS];
+            for (int i = 0; i < MAX_BINS; i++) {
+                bins[i] = new Bin();
+            }
+            return bins;
+        }
+
+        /**
+         * Add an outcome to a bin
+         *
+         * @param bins Bins to add the outcome to
+         * @param bin Bin to add the outcome to. 0 is index 0, and 00 is index
+         * 37.
+         * @param outcome Outcome to add
+         * @return true if the bin did not already contain the outcome
+         */
+        private static boolean add(Bin[] bins, int bin, Outcome outcome) {
+
+            if (bin < 0 || bin >= MAX_BINS) {
+                throw new IndexOutOfBoundsException("Index value must be between 0 and Wheel.MAX_BINS");
+            }
+
+            return bins[bin].add(outcome);
         }
 
         /**
          * Generate bets on individual bins
          *
-         * @param wheel Wheel to place outcomes into
+         * @param bins Bins to place outcomes into
          */
-        private static void generateStraightBets(Wheel wheel) {
+        private static void generateStraightBets(Bin[] bins) {
 
             for (int i = 0; i < Wheel.MAX_BINS - 1; i++) {
-                wheel.add(i, new Outcome(Integer.toString(i), RouletteGame.STRAIGHT_BET_ODDS));
+                add(bins, i, new Outcome(Integer.toString(i), RouletteGame.STRAIGHT_BET_ODDS));
             }
 
-            wheel.add(Wheel.MAX_BINS - 1, new Outcome("00", RouletteGame.STRAIGHT_BET_ODDS));
+            add(bins, Wheel.MAX_BINS - 1, new Outcome("00", RouletteGame.STRAIGHT_BET_ODDS));
         }
 
         /**
          * Generate bets between individual bins
          *
-         * @param wheel Wheel to place outcomes into
+         * @param bins Bins to place outcomes into
          */
-        private static void generateSplitBets(Wheel wheel) {
+        private static void generateSplitBets(Bin[] bins) {
 
             for (int row = 0; row < 12; row++) {
 
                 int n = 3 * row + 1;
                 Outcome outcome = new Outcome(MessageFormat.format(BETS.getString("bet.split"), n, n + 1), RouletteGame.SPLIT_BET_ODDS);
-                wheel.add(n, outcome);
-                wheel.add(n + 1, outcome);
+                add(bins, n, outcome);
+                add(bins, n + 1, outcome);
 
                 n = 3 * row + 2;
                 outcome = new Outcome(MessageFormat.format(BETS.getString("bet.split"), n, n + 1), RouletteGame.SPLIT_BET_ODDS);
-                wheel.add(n, outcome);
-                wheel.add(n + 1, outcome);
+                add(bins, n, outcome);
+                add(bins, n + 1, outcome);
             }
 
             for (int bin = 1; bin < 34; bin++) {
 
                 Outcome outcome = new Outcome(MessageFormat.format(BETS.getString("bet.split"), bin, bin + 3), RouletteGame.SPLIT_BET_ODDS);
-                wheel.add(bin, outcome);
-                wheel.add(bin + 3, outcome);
+                add(bins, bin, outcome);
+                add(bins, bin + 3, outcome);
             }
         }
 
         /**
          * Generate street bets on bins
          *
-         * @param wheel Wheel to place outcomes into
+         * @param bins Bins to place outcomes into
          */
-        private static void generateStreetBets(Wheel wheel) {
+        private static void generateStreetBets(Bin[] bins) {
 
             for (int row = 0; row < 12; row++) {
 
                 int n = 3 * row + 1;
                 Outcome outcome = new Outcome(MessageFormat.format(BETS.getString("bet.street"), n, n + 1, n + 2), RouletteGame.STREET_BET_ODDS);
-                wheel.add(n, outcome);
-                wheel.add(n + 1, outcome);
-                wheel.add(n + 2, outcome);
+                add(bins, n, outcome);
+                add(bins, n + 1, outcome);
+                add(bins, n + 2, outcome);
             }
         }
 
         /**
          * Generate bets on corners of bins
          *
-         * @param wheel Wheel to place outcomes into
+         * @param bins Bins to place outcomes into
          */
-        private static void generateConerBets(Wheel wheel) {
+        private static void generateConerBets(Bin[] bins) {
 
             for (int row = 0; row < 11; row++) {
 
                 int n = 3 * row + 1;
                 Outcome outcome = new Outcome(MessageFormat.format(BETS.getString("bet.corner"), n, n + 1, n + 3, n + 4), RouletteGame.CORNER_BET_ODDS);
-                wheel.add(n, outcome);
-                wheel.add(n + 1, outcome);
-                wheel.add(n + 3, outcome);
-                wheel.add(n + 4, outcome);
+                add(bins, n, outcome);
+                add(bins, n + 1, outcome);
+                add(bins, n + 3, outcome);
+                add(bins, n + 4, outcome);
 
                 n = 3 * row + 2;
                 outcome = new Outcome(MessageFormat.format(BETS.getString("bet.corner"), n, n + 1, n + 3, n + 4), RouletteGame.CORNER_BET_ODDS);
-                wheel.add(n, outcome);
-                wheel.add(n + 1, outcome);
-                wheel.add(n + 3, outcome);
-                wheel.add(n + 4, outcome);
+                add(bins, n, outcome);
+                add(bins, n + 1, outcome);
+                add(bins, n + 3, outcome);
+                add(bins, n + 4, outcome);
             }
         }
 
         /**
          * Generate line bets
          *
-         * @param wheel Wheel to place outcomes into
+         * @param bins Bins to place outcomes into
          */
-        private static void generateLineBets(Wheel wheel) {
+        private static void generateLineBets(Bin[] bins) {
 
             for (int row = 0; row < 11; row++) {
 
                 int n = 3 * row + 1;
                 Outcome outcome = new Outcome(MessageFormat.format(BETS.getString("bet.line"), n, n + 1, n + 2, n + 3, n + 4, n + 5), RouletteGame.LINE_BET_ODDS);
                 for (int i = 0; i < 6; i++) {
-                    wheel.add(n + i, outcome);
+                    add(bins, n + i, outcome);
                 }
             }
         }
@@ -319,15 +527,15 @@ public class Wheel {
         /**
          * Generate dozen bets
          *
-         * @param wheel Wheel to place outcomes into
+         * @param bins Bins to place outcomes into
          */
-        private static void generateDozenBets(Wheel wheel) {
+        private static void generateDozenBets(Bin[] bins) {
 
             for (int dozen = 0; dozen < 3; dozen++) {
 
                 Outcome outcome = new Outcome(MessageFormat.format(BETS.getString("bet.dozen"), dozen + 1), RouletteGame.DOZEN_BET_ODDS);
                 for (int i = 0; i < 12; i++) {
-                    wheel.add(12 * dozen + i + 1, outcome);
+                    add(bins, 12 * dozen + i + 1, outcome);
                 }
             }
         }
@@ -335,15 +543,15 @@ public class Wheel {
         /**
          * Generate column bets
          *
-         * @param wheel Wheel to place outcomes into
+         * @param bins Bins to place outcomes into
          */
-        private static void generateColumnBets(Wheel wheel) {
+        private static void generateColumnBets(Bin[] bins) {
 
             for (int column = 0; column < 3; column++) {
 
                 Outcome outcome = new Outcome(MessageFormat.format(BETS.getString("bet.column"), column + 1), RouletteGame.COLUMN_BET_ODDS);
                 for (int i = 0; i < 12; i++) {
-                    wheel.add(3 * i + column + 1, outcome);
+                    add(bins, 3 * i + column + 1, outcome);
                 }
             }
         }
@@ -351,9 +559,9 @@ public class Wheel {
         /**
          * Generate all even money bets
          *
-         * @param wheel Wheel to place outcomes into
+         * @param bins Bins to place outcomes into
          */
-        private static void generateEvenMoneyBets(Wheel wheel) {
+        private static void generateEvenMoneyBets(Bin[] bins) {
 
             Outcome redOutcome = new Outcome(BETS.getString("bet.red"), RouletteGame.EVEN_MONEY_BET_ODDS);
             Outcome blackOutcome = new Outcome(BETS.getString("bet.black"), RouletteGame.EVEN_MONEY_BET_ODDS);
@@ -365,21 +573,21 @@ public class Wheel {
             for (int i = 1; i < 37; i++) {
 
                 if (i < 19) {
-                    wheel.add(i, lowOutcome);
+                    add(bins, i, lowOutcome);
                 } else {
-                    wheel.add(i, highOutcome);
+                    add(bins, i, highOutcome);
                 }
 
                 if (i % 2 == 0) {
-                    wheel.add(i, evenOutcome);
+                    add(bins, i, evenOutcome);
                 } else {
-                    wheel.add(i, oddOutcome);
+                    add(bins, i, oddOutcome);
                 }
 
-                if (Arrays.asList(1, 3, 5, 7, 9, 12, 14, 16, 18, 19, 21, 23, 25, 27, 30, 32, 34, 36).contains(i)) {
-                    wheel.add(i, redOutcome);
+                if (RED_BINS.contains(i)) {
+                    add(bins, i, redOutcome);
                 } else {
-                    wheel.add(i, blackOutcome);
+                    add(bins, i, blackOutcome);
                 }
             }
         }
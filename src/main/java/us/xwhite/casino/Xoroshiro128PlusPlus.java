@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+/**
+ * The xoroshiro128++ generator by Blackman and Vigna. It is much faster than
+ * {@link java.util.Random}, has a period of 2^128 - 1 and passes the common
+ * statistical test suites. It is not cryptographically secure, and an
+ * instance must not be shared between threads.
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public final class Xoroshiro128PlusPlus implements RandomSource {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long s0;
+
+    private long s1;
+
+    /**
+     * Create a generator from a seed. The 128 bits of state are filled from
+     * the seed with SplitMix64, so similar seeds give unrelated streams.
+     *
+     * @param seed Seed for the generator
+     */
+    public Xoroshiro128PlusPlus(long seed) {
+        this.s0 = Seeds.mix64(seed += GOLDEN_GAMMA);
+        this.s1 = Seeds.mix64(seed + GOLDEN_GAMMA);
+    }
+
+    @Override
+    public long nextLong() {
+
+        long x = s0;
+        long y = s1;
+        long result = Long.rotateLeft(x + y, 17) + x;
+
+        y ^= x;
+        s0 = Long.rotateLeft(x, 49) ^ y ^ (y << 21);
+        s1 = Long.rotateLeft(y, 28);
+        return result;
+    }
+
+    @Override
+    public void nextInts(int[] buffer, int bound) {
+
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Bound must be positive");
+        }
+
+        // keep the state in locals so the loop runs in registers
+        long x = s0;
+        long y = s1;
+        long threshold = (0x100000000L - bound) % bound;
+        int i = 0;
+        while (i < buffer.length) {
+            long result = Long.rotateLeft(x + y, 17) + x;
+            y ^= x;
+            x = Long.rotateLeft(x, 49) ^ y ^ (y << 21);
+            y = Long.rotateLeft(y, 28);
+
+            long m = (result >>> 32) * bound;
+            if ((m & 0xFFFFFFFFL) >= threshold) {
+                buffer[i++] = (int) (m >>> 32);
+            }
+        }
+
+        s0 = x;
+        s1 = y;
+    }
+}
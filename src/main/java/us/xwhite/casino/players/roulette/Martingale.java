@@ -25,11 +25,9 @@
  */
 package us.xwhite.casino.players.roulette;
 
-import us.xwhite.casino.Bet;
-import us.xwhite.casino.InvalidBetException;
 import us.xwhite.casino.Player;
+import us.xwhite.casino.RouletteOutcomes;
 import us.xwhite.casino.Table;
-import us.xwhite.casino.Wheel;
 
 /**
  * Create a Roulette player who only bets on black and uses the Martingale
@@ -61,14 +59,14 @@ public class Martingale extends Player {
     }
 
     @Override
-    public void win(Bet bet) {
-        super.win(bet);
-        loseCount = 0;
-    }
+    public void settle(int amount) {
+        super.settle(amount);
 
-    @Override
-    public void lose(Bet bet) {
-        loseCount++;
+        if (amount > 0) {
+            loseCount = 0;
+        } else {
+            loseCount++;
+        }
     }
     
     @Override
@@ -87,13 +85,11 @@ public class Martingale extends Player {
 
     @Override
     public void placeBets() {
-        try {
-            placeBet(getBetMultiple(), Wheel.getOutcome(Wheel.BinBuilder.BETS.getString("bet.black")), this);
-        } catch (InvalidBetException ex) {
+
+        if (!tryPlaceBet(getBetMultiple(), RouletteOutcomes.BLACK).isAccepted()) {
             loseCount--;
-            try {
-                placeBet(getBetMultiple(), Wheel.getOutcome(Wheel.BinBuilder.BETS.getString("bet.black")), this);
-            } catch (InvalidBetException ex1) {
+
+            if (!tryPlaceBet(getBetMultiple(), RouletteOutcomes.BLACK).isAccepted()) {
                 donePlaying = true;
             }
         }
@@ -27,10 +27,10 @@ package us.xwhite.casino.players.roulette;
 
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import us.xwhite.casino.InvalidBetException;
+import us.xwhite.casino.BetStatus;
 import us.xwhite.casino.Player;
+import us.xwhite.casino.RouletteOutcomes;
 import us.xwhite.casino.Table;
-import us.xwhite.casino.Wheel;
 
 /**
  * Create a Roulette player who only bets on black
@@ -39,6 +39,8 @@ import us.xwhite.casino.Wheel;
  */
 public class Passenger57 extends Player {
 
+    private static final Logger LOGGER = Logger.getLogger(Passenger57.class.getName());
+
     /**
      * Create a new Passenger57 player on this table
      *
@@ -53,10 +55,10 @@ public class Passenger57 extends Player {
 
     @Override
     public void placeBets() {
-        try {
-            placeBet(1, Wheel.getOutcome(Wheel.BinBuilder.BETS.getString("bet.black")), this);
-        } catch (InvalidBetException ex) {
-            Logger.getLogger(Passenger57.class.getName()).log(Level.SEVERE, null, ex);
+
+        BetStatus status = tryPlaceBet(1, RouletteOutcomes.BLACK);
+        if (!status.isAccepted()) {
+            LOGGER.log(Level.SEVERE, "Bet was rejected: {0}", status);
         }
     }
 
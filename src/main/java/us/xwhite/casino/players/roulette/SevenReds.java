@@ -27,6 +27,7 @@ package us.xwhite.casino.players.roulette;
 
 import java.util.Set;
 import us.xwhite.casino.Outcome;
+import us.xwhite.casino.RouletteOutcomes;
 import us.xwhite.casino.Table;
 import us.xwhite.casino.Wheel;
 
@@ -36,9 +37,9 @@ import us.xwhite.casino.Wheel;
  */
 public class SevenReds extends Martingale {
 
-    private int redCount;
+    private static final long RED_BINS = Wheel.getCoverage(RouletteOutcomes.RED);
 
-    private final Outcome redOutcome;
+    private int redCount;
 
     /**
      * Create a new SevenReds player on this table
@@ -51,12 +52,20 @@ public class SevenReds extends Martingale {
     public SevenReds(Table table, int stake, int roundsToGo) {
         super(table, stake, roundsToGo);
         redCount = 7;
-        redOutcome = Wheel.getOutcome(Wheel.BinBuilder.BETS.getString("bet.red"));
     }
 
     @Override
     public void winners(Set<Outcome> outcomes) {
-        if (outcomes.contains(redOutcome)) {
+        spun(outcomes.contains(RouletteOutcomes.RED));
+    }
+
+    @Override
+    public void winners(int bin) {
+        spun(((RED_BINS >>> bin) & 1L) != 0);
+    }
+
+    private void spun(boolean red) {
+        if (red) {
             redCount--;
         } else {
             redCount = 7;
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public class AliasTableTest {
+
+    @Test
+    public void probabilityTest() {
+
+        double[] weights = {1.0, 2.0, 0.0, 5.0, 0.5};
+        AliasTable table = new AliasTable(weights);
+
+        Assert.assertEquals(5, table.size());
+        for (int i = 0; i < weights.length; i++) {
+            Assert.assertEquals(weights[i] / 8.5, table.getProbability(i), 1e-12);
+        }
+    }
+
+    @Test
+    public void sampleTest() {
+
+        AliasTable table = new AliasTable(new double[]{1.0, 0.0, 3.0});
+        RandomSource rng = new Xoroshiro128PlusPlus(42L);
+
+        int[] buffer = new int[40000];
+        table.sample(rng, buffer);
+        int[] counts = new int[3];
+        for (int index : buffer) {
+            counts[index]++;
+        }
+
+        Assert.assertEquals(0, counts[1]);
+        Assert.assertEquals(10000, counts[0], 500);
+        Assert.assertEquals(30000, counts[2], 500);
+    }
+
+    @Test
+    public void constructorExceptionTest() {
+
+        double[][] invalid = {null, {}, {1.0, -1.0}, {0.0, 0.0}, {1.0, Double.NaN}, {Double.POSITIVE_INFINITY}};
+        for (double[] weights : invalid) {
+            try {
+                new AliasTable(weights);
+                Assert.fail("Expecting an exception");
+            } catch (IllegalArgumentException iae) {
+                // do nothing, expecting an exception
+            }
+        }
+    }
+}
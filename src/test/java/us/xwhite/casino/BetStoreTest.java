@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public class BetStoreTest {
+
+    private BetStore store;
+
+    @Before
+    public void setUp() {
+        store = new BetStore();
+    }
+
+    @Test
+    public void addTest() {
+
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(i, store.add(null, i + 1, i % 7, i % 3));
+        }
+
+        Assert.assertEquals(100, store.size());
+        for (int i = 0; i < store.size(); i++) {
+            Assert.assertEquals(i + 1, store.getAmount(i));
+            Assert.assertEquals(i % 7, store.getOutcomeId(i));
+            Assert.assertEquals(i % 3, store.getSeat(i));
+            Assert.assertNull(store.getBet(i));
+        }
+    }
+
+    @Test
+    public void clearTest() {
+
+        int epoch = store.getEpoch();
+        store.add(null, 5, 1, 0);
+        store.clear();
+
+        Assert.assertEquals(0, store.size());
+        Assert.assertEquals(epoch + 1, store.getEpoch());
+
+        try {
+            store.getAmount(0);
+            Assert.fail("Expecting an exception");
+        } catch (IndexOutOfBoundsException ioobe) {
+            // do nothing, expecting an exception
+        }
+    }
+}
@@ -73,6 +73,18 @@ public class BinTest {
         Assert.assertFalse(instance.contains(new Outcome("Some other outcome" ,7)));
     }
     
+    @Test
+    public void containsByIdTest() {
+
+        Bin instance = new Bin();
+        Outcome outcome = new Outcome("Test outcome", 5);
+
+        Assert.assertFalse(instance.contains(outcome.getId()));
+        instance.add(outcome);
+        Assert.assertTrue(instance.contains(outcome.getId()));
+        Assert.assertTrue(Bin.of(instance).contains(outcome.getId()));
+    }
+
     @Test
     public void getOutcomesTest() {
         
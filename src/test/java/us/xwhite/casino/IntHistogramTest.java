@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public class IntHistogramTest {
+
+    @Test
+    public void percentileTest() {
+
+        IntHistogram histogram = new IntHistogram();
+        int[] values = {9, 8, 5, 9, 9, 4, 5, 8, 10, 7};
+        for (int value : values) {
+            histogram.add(value);
+        }
+
+        Assert.assertEquals(10, histogram.getCount());
+        Assert.assertEquals(3, histogram.getCount(9));
+        Assert.assertEquals(0, histogram.getCount(6));
+        Assert.assertEquals(4, histogram.getMin());
+        Assert.assertEquals(10, histogram.getMax());
+        for (int percentile : new int[]{1, 50, 90, 99}) {
+            Assert.assertEquals(IntegerStatistics.EXACT_PERCENTILES.apply(values, new int[]{percentile})[0],
+                    histogram.getPercentile(percentile));
+        }
+    }
+
+    @Test
+    public void growTest() {
+
+        // grows both up and down, and across the edges of the int range
+        IntHistogram histogram = new IntHistogram();
+        for (int value = 0; value < 1000; value++) {
+            histogram.add(value);
+            histogram.add(-value);
+        }
+        Assert.assertEquals(2000, histogram.getCount());
+        Assert.assertEquals(2, histogram.getCount(0));
+        Assert.assertEquals(-999, histogram.getMin());
+        Assert.assertEquals(999, histogram.getMax());
+        Assert.assertEquals(0, histogram.getPercentile(50));
+
+        IntHistogram top = new IntHistogram();
+        top.add(Integer.MAX_VALUE);
+        top.add(Integer.MAX_VALUE - 100);
+        Assert.assertEquals(Integer.MAX_VALUE, top.getPercentile(99));
+
+        try {
+            top.add(0);
+            Assert.fail("Expecting an exception");
+        } catch (IllegalArgumentException iae) {
+            // do nothing, expecting an exception
+        }
+    }
+
+    @Test
+    public void mergeTest() {
+
+        IntHistogram first = new IntHistogram();
+        IntHistogram second = new IntHistogram();
+        IntHistogram all = new IntHistogram();
+        for (int value = 0; value < 500; value++) {
+            first.add(value);
+            all.add(value);
+        }
+        for (int value = 10_000; value < 10_500; value++) {
+            second.add(value);
+            all.add(value);
+        }
+
+        first.merge(second);
+        first.merge(new IntHistogram());
+        Assert.assertEquals(all.getCount(), first.getCount());
+        for (int percentile = 1; percentile < 100; percentile++) {
+            Assert.assertEquals(all.getPercentile(percentile), first.getPercentile(percentile));
+        }
+
+        try {
+            first.merge(null);
+            Assert.fail("Expecting an exception");
+        } catch (IllegalArgumentException iae) {
+            // do nothing, expecting an exception
+        }
+    }
+}
@@ -27,9 +27,12 @@ package us.xwhite.casino;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -150,4 +153,130 @@ public class IntegerStatisticsTest {
             Assert.fail("Not expecting any other exceptions");
         }
     }
+
+    @Test
+    public void nthPercentileDoesNotSortTest() {
+
+        List<Integer> myList = new ArrayList<>(Arrays.asList(9, 8, 5, 9, 9, 4, 5, 8, 10, 7));
+        IntegerStatistics.NTH_PERCENTILE.apply(myList, 50);
+
+        Assert.assertEquals(Arrays.asList(9, 8, 5, 9, 9, 4, 5, 8, 10, 7), myList);
+    }
+
+    @Test
+    public void exactPercentilesTest() {
+
+        int[] values = {9, 8, 5, 9, 9, 4, 5, 8, 10, 7};
+        Assert.assertArrayEquals(new int[]{9, 4, 10, 8},
+                IntegerStatistics.EXACT_PERCENTILES.apply(values, new int[]{90, 1, 99, 50}));
+        Assert.assertArrayEquals(new int[]{9, 8, 5, 9, 9, 4, 5, 8, 10, 7}, values);
+    }
+
+    @Test
+    public void exactPercentilesWideRangeTest() {
+
+        // too wide for a histogram, so the values are radix sorted
+        Random rng = new Random(42L);
+        int[] values = new int[5000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = rng.nextInt();
+        }
+        values[17] = Integer.MIN_VALUE;
+        values[18] = Integer.MAX_VALUE;
+        int[] original = values.clone();
+
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int[] percentiles = new int[99];
+        for (int i = 0; i < percentiles.length; i++) {
+            percentiles[i] = i + 1;
+        }
+
+        int[] result = IntegerStatistics.EXACT_PERCENTILES.apply(values, percentiles);
+        for (int i = 0; i < percentiles.length; i++) {
+            Assert.assertEquals(sorted[(percentiles[i] * values.length + 99) / 100 - 1], result[i]);
+        }
+        Assert.assertArrayEquals(original, values);
+    }
+
+    @Test
+    public void exactPercentilesExceptionTest() {
+
+        try {
+            IntegerStatistics.EXACT_PERCENTILES.apply(new int[0], new int[]{50});
+            Assert.fail("Expecting an exception");
+        } catch (IllegalArgumentException iae) {
+            // do nothing, expecting this exception
+        }
+
+        try {
+            IntegerStatistics.EXACT_PERCENTILES.apply(new int[]{1}, new int[]{50, 100});
+            Assert.fail("Expecting an exception");
+        } catch (IllegalArgumentException iae) {
+            // do nothing, expecting this exception
+        }
+    }
+
+    @Test
+    public void primitiveTest() {
+
+        int[] values = {9, 8, 5, 9, 9, 4, 5, 8, 10, 7, 8, 8};
+        List<Integer> myList = Arrays.asList(9, 8, 5, 9, 9, 4, 5, 8, 10, 7, 8, 8);
+
+        Assert.assertEquals(IntegerStatistics.MEAN.apply(myList), IntegerStatistics.mean(values), 1e-12);
+        Assert.assertEquals(IntegerStatistics.STANDARD_DEVIATION.apply(myList),
+                IntegerStatistics.standardDeviation(values), 1e-12);
+        Assert.assertEquals(4, IntegerStatistics.min(values));
+        Assert.assertEquals(10, IntegerStatistics.max(values));
+    }
+
+    @Test
+    public void bufferTest() {
+
+        Random rng = new Random(42L);
+        int[] values = new int[10_003];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = rng.nextInt(2001) - 1000;
+        }
+
+        // a direct buffer is read in blocks, a heap slice in place
+        IntBuffer direct = ByteBuffer.allocateDirect(values.length * Integer.BYTES).asIntBuffer();
+        direct.put(values).flip();
+        IntBuffer slice = IntBuffer.wrap(new int[values.length + 5], 3, values.length).slice();
+        slice.put(values).flip();
+
+        for (IntBuffer buffer : new IntBuffer[]{direct, slice}) {
+            Assert.assertEquals(IntegerStatistics.mean(values), IntegerStatistics.mean(buffer), 1e-12);
+            Assert.assertEquals(IntegerStatistics.standardDeviation(values),
+                    IntegerStatistics.standardDeviation(buffer), 1e-9);
+            Assert.assertEquals(IntegerStatistics.min(values), IntegerStatistics.min(buffer));
+            Assert.assertEquals(IntegerStatistics.max(values), IntegerStatistics.max(buffer));
+            Assert.assertEquals(0, buffer.position());
+        }
+    }
+
+    @Test
+    public void primitiveExceptionTest() {
+
+        try {
+            IntegerStatistics.mean(new int[0]);
+            Assert.fail("Expecting an exception");
+        } catch (IllegalArgumentException iae) {
+            // do nothing, expecting this exception
+        }
+
+        try {
+            IntegerStatistics.standardDeviation(IntBuffer.wrap(new int[]{1}));
+            Assert.fail("Expecting an exception");
+        } catch (IllegalArgumentException iae) {
+            // do nothing, expecting this exception
+        }
+
+        try {
+            IntegerStatistics.max((int[]) null);
+            Assert.fail("Expecting an exception");
+        } catch (IllegalArgumentException iae) {
+            // do nothing, expecting this exception
+        }
+    }
 }
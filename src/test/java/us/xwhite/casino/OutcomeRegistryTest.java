@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public class OutcomeRegistryTest {
+
+    @Test
+    public void registeredOutcomeTest() {
+
+        Outcome outcome = new Outcome("Registry test outcome", 17);
+        int id = outcome.getId();
+
+        Assert.assertEquals(id, OutcomeRegistry.idOf("Registry test outcome"));
+        Assert.assertEquals(outcome, OutcomeRegistry.get(id));
+        Assert.assertEquals("Registry test outcome", OutcomeRegistry.getName(id));
+        Assert.assertEquals(17, OutcomeRegistry.getOdds(id));
+        Assert.assertTrue(id < OutcomeRegistry.size());
+        Assert.assertEquals("Registry test outcome", OutcomeRegistry.getNames()[id]);
+        Assert.assertEquals(17, OutcomeRegistry.getOdds()[id]);
+    }
+
+    @Test
+    public void sameNameTest() {
+
+        Outcome evenMoney = new Outcome("Registry odds outcome", 1);
+        Outcome straight = new Outcome("Registry odds outcome", 35);
+
+        // ids follow equals, and the registry keeps the first odds
+        Assert.assertEquals(evenMoney, straight);
+        Assert.assertEquals(evenMoney.getId(), straight.getId());
+        Assert.assertEquals(1, OutcomeRegistry.getOdds(straight.getId()));
+        Assert.assertEquals(350, straight.winAmount(10));
+    }
+
+    @Test
+    public void idsAreDenseTest() {
+
+        int size = OutcomeRegistry.size();
+        for (int id = 0; id < size; id++) {
+            Assert.assertEquals(id, OutcomeRegistry.get(id).getId());
+            Assert.assertEquals(id, OutcomeRegistry.idOf(OutcomeRegistry.getName(id)));
+        }
+    }
+
+    @Test
+    public void unknownOutcomeTest() {
+
+        Assert.assertEquals(-1, OutcomeRegistry.idOf("Never registered outcome"));
+
+        try {
+            OutcomeRegistry.get(OutcomeRegistry.size());
+            Assert.fail("Expecting an exception");
+        } catch (IndexOutOfBoundsException ioobe) {
+            // do nothing, expecting an exception
+        }
+
+        try {
+            OutcomeRegistry.getOdds(-1);
+            Assert.fail("Expecting an exception");
+        } catch (IndexOutOfBoundsException ioobe) {
+            // do nothing, expecting an exception
+        }
+    }
+}
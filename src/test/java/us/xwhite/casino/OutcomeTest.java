@@ -69,4 +69,11 @@ public class OutcomeTest {
         Assert.assertEquals(new Outcome(outcomeName, 17), outcome1);
     }
 
+    @Test
+    public void testGetId() {
+        Outcome outcome = new Outcome("Test Outcome", 17);
+        Assert.assertEquals(outcome.getId(), new Outcome("Test Outcome", 0).getId());
+
+        Assert.assertNotEquals(outcome.getId(), new Outcome("Test Outcome" + "1", 17).getId());
+    }
 }
@@ -25,6 +25,7 @@
  */
 package us.xwhite.casino;
 
+import java.util.Set;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -60,6 +61,13 @@ public class PlayerTest {
         Assert.assertEquals(Simulator.INIT_STAKE - 1, player.getStake());
     }
     
+    @Test
+    public void winnersByBinTest() {
+
+        player.winners(4);
+        Assert.assertEquals(Wheel.getBin(4).getOutcomes(), ((TestPlayer) player).lastOutcomes);
+    }
+
     @Test
     public void playingTest() {
         Assert.assertTrue(player.playing());
@@ -67,11 +75,18 @@ public class PlayerTest {
 }
 
 class TestPlayer extends Player {
+
+    Set<Outcome> lastOutcomes;
     
     public TestPlayer(Table table, int stake, int roundsToGo) {
         super(table, stake, roundsToGo);
     }
 
+    @Override
+    public void winners(Set<Outcome> outcomes) {
+        lastOutcomes = outcomes;
+    }
+
     @Override
     public void placeBets() {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
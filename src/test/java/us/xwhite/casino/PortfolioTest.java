@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public class PortfolioTest {
+
+    private Portfolio portfolio;
+
+    private Player player;
+
+    @Before
+    public void setUp() {
+        portfolio = new Portfolio();
+        player = Mockito.mock(Player.class);
+    }
+
+    @Test
+    public void addTest() {
+
+        portfolio.add(new Bet(10, RouletteOutcomes.BLACK, player));
+        portfolio.add(new Bet(5, Wheel.getOutcome("Split: 1, 2"), player));
+        portfolio.add(new Bet(1, RouletteOutcomes.DOZEN_1, player));
+
+        Assert.assertEquals(3, portfolio.size());
+        Assert.assertEquals(16, portfolio.getTotal());
+
+        // 2 is black, in the split and in the first dozen
+        Assert.assertEquals(20 + 90 + 3, portfolio.getReturn(2));
+        Assert.assertEquals(20 + 90 + 3 - 16, portfolio.getNet(2));
+
+        // 1 is red, in the split and in the first dozen
+        Assert.assertEquals(90 + 3, portfolio.getReturn(1));
+
+        // 13 is black and in the second dozen
+        Assert.assertEquals(20, portfolio.getReturn(13));
+
+        Assert.assertEquals(0, portfolio.getReturn(0));
+        Assert.assertEquals(-16, portfolio.getNet(37));
+    }
+
+    @Test
+    public void sameNameOutcomeTest() {
+
+        // an outcome equal to Black but with its own odds still covers the
+        // black bins and is paid at its own odds
+        portfolio.add(new Bet(10, new Outcome("Black", 2), player));
+
+        Assert.assertTrue(Wheel.getBin(2).contains(new Outcome("Black", 2)));
+        Assert.assertEquals(10 + 20, portfolio.getReturn(2));
+        Assert.assertEquals(0, portfolio.getReturn(1));
+    }
+
+    @Test
+    public void clearTest() {
+
+        Assert.assertTrue(portfolio.isEmpty());
+
+        portfolio.add(new Bet(10, RouletteOutcomes.BLACK, player));
+        Assert.assertFalse(portfolio.isEmpty());
+
+        portfolio.clear();
+        Assert.assertTrue(portfolio.isEmpty());
+        Assert.assertEquals(0, portfolio.getTotal());
+        Assert.assertEquals(0, portfolio.getReturn(2));
+    }
+
+    @Test
+    public void emptyIsReadOnlyTest() {
+
+        Assert.assertTrue(Portfolio.EMPTY.isEmpty());
+
+        try {
+            Portfolio.EMPTY.add(new Bet(10, RouletteOutcomes.BLACK, player));
+            Assert.fail("Expecting an exception");
+        } catch (UnsupportedOperationException uoe) {
+            // do nothing, expecting an exception
+        }
+
+        try {
+            Portfolio.EMPTY.clear();
+            Assert.fail("Expecting an exception");
+        } catch (UnsupportedOperationException uoe) {
+            // do nothing, expecting an exception
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public class QuantileSketchTest {
+
+    @Test
+    public void smallValuesAreExactTest() {
+
+        QuantileSketch sketch = new QuantileSketch();
+        List<Integer> values = new ArrayList<>();
+        for (int value : new int[]{9, 8, 5, 9, 9, 4, 5, 8, 10, 7}) {
+            sketch.add(value);
+            values.add(value);
+        }
+
+        Assert.assertEquals(10, sketch.getCount());
+        for (int percentile : new int[]{1, 50, 90, 99}) {
+            Assert.assertEquals((int) IntegerStatistics.NTH_PERCENTILE.apply(new ArrayList<>(values), percentile),
+                    sketch.getPercentile(percentile));
+        }
+    }
+
+    @Test
+    public void relativeErrorTest() {
+
+        Random rng = new Random(42L);
+        QuantileSketch sketch = new QuantileSketch();
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            int value = rng.nextInt(2_000_000) - 500_000;
+            sketch.add(value);
+            values.add(value);
+        }
+
+        for (int percentile = 1; percentile < 100; percentile++) {
+            int exact = IntegerStatistics.NTH_PERCENTILE.apply(values, percentile);
+            int estimate = sketch.getPercentile(percentile);
+            Assert.assertTrue(Math.abs(estimate - exact) <= Math.abs(exact) * 0.01 + 1);
+        }
+    }
+
+    @Test
+    public void zeroAndExtremesTest() {
+
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.add(0);
+        sketch.add(0);
+        sketch.add(Integer.MIN_VALUE);
+        sketch.add(Integer.MAX_VALUE);
+
+        Assert.assertEquals(Integer.MIN_VALUE, sketch.getPercentile(1));
+        Assert.assertEquals(0, sketch.getPercentile(50));
+        Assert.assertEquals(Integer.MAX_VALUE, sketch.getPercentile(99));
+    }
+
+    @Test
+    public void mergeTest() {
+
+        QuantileSketch first = new QuantileSketch();
+        QuantileSketch second = new QuantileSketch();
+        QuantileSketch all = new QuantileSketch();
+        for (int i = 1; i <= 1000; i++) {
+            (i % 2 == 0 ? first : second).add(i);
+            all.add(i);
+        }
+
+        first.merge(second);
+        Assert.assertEquals(1000, first.getCount());
+        for (int percentile = 1; percentile < 100; percentile++) {
+            Assert.assertEquals(all.getPercentile(percentile), first.getPercentile(percentile));
+        }
+
+        try {
+            first.merge(new QuantileSketch(0.05));
+            Assert.fail("Expecting an exception");
+        } catch (IllegalArgumentException iae) {
+            // do nothing, expecting an exception
+        }
+    }
+
+    @Test
+    public void percentileExceptionTest() {
+
+        QuantileSketch sketch = new QuantileSketch();
+
+        try {
+            sketch.getPercentile(50);
+            Assert.fail("Expecting an exception");
+        } catch (IllegalStateException ise) {
+            // do nothing, expecting an exception
+        }
+
+        sketch.add(1);
+        try {
+            sketch.getPercentile(100);
+            Assert.fail("Expecting an exception");
+        } catch (IllegalArgumentException iae) {
+            // do nothing, expecting an exception
+        }
+
+        try {
+            new QuantileSketch(0.0);
+            Assert.fail("Expecting an exception");
+        } catch (IllegalArgumentException iae) {
+            // do nothing, expecting an exception
+        }
+    }
+}
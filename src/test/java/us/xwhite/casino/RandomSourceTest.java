@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public class RandomSourceTest {
+
+    @Test
+    public void jdkMatchesRandomTest() {
+
+        Random rng = new Random(42L);
+        RandomSource source = RandomSource.of(new Random(42L));
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(rng.nextInt(Wheel.MAX_BINS), source.nextInt(Wheel.MAX_BINS));
+        }
+
+        try {
+            RandomSource.of(null);
+            Assert.fail("Expecting an exception");
+        } catch (IllegalArgumentException iae) {
+            // do nothing, expecting an exception
+        }
+    }
+
+    @Test
+    public void pcg32ReferenceTest() {
+
+        // first outputs of the reference pcg32-demo with seed 42 on stream 54
+        int[] expected = {0xa15c02b7, 0x7b47f409, 0xba1d3330, 0x83d2f293, 0xbfa4784b, 0xcbed606e};
+        Pcg32 rng = new Pcg32(42L, 54L);
+        for (int value : expected) {
+            Assert.assertEquals(value, rng.nextInt());
+        }
+    }
+
+    @Test
+    public void nextIntBoundTest() {
+
+        RandomSource[] sources = {new Xoroshiro128PlusPlus(7L), new Pcg32(7L), RandomSource.of(new Random(7L))};
+        for (RandomSource source : sources) {
+            int[] counts = new int[Wheel.MAX_BINS];
+            for (int i = 0; i < 38000; i++) {
+                counts[source.nextInt(Wheel.MAX_BINS)]++;
+            }
+            for (int count : counts) {
+                Assert.assertTrue(count > 800 && count < 1200);
+            }
+
+            try {
+                source.nextInt(0);
+                Assert.fail("Expecting an exception");
+            } catch (IllegalArgumentException iae) {
+                // do nothing, expecting an exception
+            }
+        }
+    }
+
+    @Test
+    public void nextIntsMatchesNextIntTest() {
+
+        int[] buffer = new int[500];
+        new Xoroshiro128PlusPlus(99L).nextInts(buffer, Wheel.MAX_BINS);
+
+        Xoroshiro128PlusPlus rng = new Xoroshiro128PlusPlus(99L);
+        for (int value : buffer) {
+            Assert.assertEquals(value, rng.nextInt(Wheel.MAX_BINS));
+        }
+
+        new Pcg32(99L).nextInts(buffer, 5);
+        Pcg32 pcg = new Pcg32(99L);
+        for (int value : buffer) {
+            Assert.assertEquals(value, pcg.nextInt(5));
+        }
+    }
+
+    @Test
+    public void nextDoubleTest() {
+
+        RandomSource source = new Xoroshiro128PlusPlus(1L);
+        for (int i = 0; i < 1000; i++) {
+            double value = source.nextDouble();
+            Assert.assertTrue(value >= 0.0 && value < 1.0);
+        }
+    }
+}
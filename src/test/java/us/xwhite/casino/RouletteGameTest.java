@@ -25,6 +25,7 @@
  */
 package us.xwhite.casino;
 
+import java.util.Arrays;
 import java.util.Random;
 import java.util.Set;
 import org.junit.Assert;
@@ -32,6 +33,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 import us.xwhite.casino.Wheel.WheelBuilder;
+import us.xwhite.casino.players.roulette.Martingale;
+import us.xwhite.casino.players.roulette.Passenger57;
 
 /**
  *
@@ -66,19 +69,19 @@ public class RouletteGameTest {
         table.placeBet(bet);
 
         Set<Outcome> outcomes = game.cycle(player);
-        Mockito.verify(wheel, Mockito.times(1)).next();
-        Mockito.verify(player, Mockito.times(1)).win(Mockito.any(Bet.class));
+        Mockito.verify(wheel, Mockito.times(1)).spin();
+        Mockito.verify(player, Mockito.times(1)).settle(bet.winAmount());
         Assert.assertNotNull(outcomes);
         Assert.assertEquals(14, outcomes.size());
         Assert.assertTrue(outcomes.contains(Wheel.getOutcome("Black")));
-        Mockito.verify(player, Mockito.times(1)).winners(outcomes);
+        Mockito.verify(player, Mockito.times(1)).winners(4);
     }
 
     @Test
     public void cycleNullPlayerTest() {
 
         Set<Outcome> outcomes = game.cycle(null);
-        Mockito.verify(wheel, Mockito.times(0)).next();
+        Mockito.verify(wheel, Mockito.times(0)).spin();
         Assert.assertEquals(0, outcomes.size());
     }
 
@@ -90,7 +93,173 @@ public class RouletteGameTest {
         Mockito.when(player.playing()).thenReturn(false);
 
         Set<Outcome> outcomes = game.cycle(player);
-        Mockito.verify(wheel, Mockito.times(0)).next();
+        Mockito.verify(wheel, Mockito.times(0)).spin();
         Assert.assertEquals(0, outcomes.size());
     }
+
+    @Test
+    public void cycleManyTest() {
+
+        // 4 is always black, so the player wins every round
+        Player player = new Passenger57(table, 100, 10);
+
+        CycleSummary summary = game.cycleMany(player, 25);
+        Mockito.verify(wheel, Mockito.times(10)).spin();
+        Assert.assertEquals(10, summary.getRounds());
+        Assert.assertEquals(110, summary.getMaxStake());
+        Assert.assertEquals(110, summary.getFinalStake());
+
+        summary = game.cycleMany(player, 5);
+        Assert.assertEquals(0, summary.getRounds());
+        Assert.assertEquals(110, summary.getMaxStake());
+    }
+
+    @Test
+    public void cycleManySpinsTest() {
+
+        // 1 is red, so the player loses every round
+        int[] spins = new int[10];
+        Arrays.fill(spins, 1);
+        Player player = new Passenger57(table, 100, 250);
+
+        CycleSummary summary = game.cycleMany(player, spins);
+        Mockito.verify(wheel, Mockito.times(0)).spin();
+        Assert.assertEquals(10, summary.getRounds());
+        Assert.assertEquals(99, summary.getMaxStake());
+        Assert.assertEquals(90, summary.getFinalStake());
+    }
+
+    @Test
+    public void cycleManyMatchesCycleTest() {
+
+        Player player = new Passenger57(table, 100, 10);
+        Game looping = new Game() {
+            @Override
+            public Set<Outcome> cycle(Player player) {
+                return game.cycle(player);
+            }
+
+            @Override
+            public Table getTable() {
+                return table;
+            }
+        };
+
+        CycleSummary summary = looping.cycleMany(player, 25);
+        Assert.assertEquals(10, summary.getRounds());
+        Assert.assertEquals(110, summary.getFinalStake());
+
+        try {
+            game.cycleMany(null, 1);
+            Assert.fail("Expecting an exception");
+        } catch (IllegalArgumentException iae) {
+            // do nothing, expecting an exception
+        }
+
+        try {
+            looping.cycleMany(player, -1);
+            Assert.fail("Expecting an exception");
+        } catch (IllegalArgumentException iae) {
+            // do nothing, expecting an exception
+        }
+    }
+
+    @Test
+    public void cycleAllTest() {
+
+        Player first = new Passenger57(table, 100, 10);
+        Player second = new Martingale(table, 100, 10);
+        Player stopped = new Passenger57(table, 100, 0);
+
+        Set<Outcome> outcomes = game.cycleAll(Arrays.asList(first, second, stopped, null));
+        Mockito.verify(wheel, Mockito.times(1)).spin();
+        Assert.assertTrue(outcomes.contains(Wheel.getOutcome("Black")));
+        Assert.assertEquals(101, first.getStake());
+        Assert.assertEquals(101, second.getStake());
+        Assert.assertEquals(100, stopped.getStake());
+        Assert.assertEquals(0, table.getBets().size());
+        Assert.assertEquals(0, table.getSeatCount());
+    }
+
+    @Test
+    public void cycleAllLosingTest() {
+
+        // 1 is red, so every bet on black loses
+        Random rng = new NonRandom();
+        rng.setSeed(1);
+        RouletteGame redGame = new RouletteGame(new WheelBuilder().rng(rng).build(), table);
+
+        Player first = new Passenger57(table, 100, 10);
+        Player second = new Martingale(table, 100, 10);
+        redGame.cycleAll(Arrays.asList(first, second));
+        redGame.cycleAll(Arrays.asList(first, second));
+
+        // the Martingale player doubles its bet after the first loss
+        Assert.assertEquals(98, first.getStake());
+        Assert.assertEquals(97, second.getStake());
+
+        Assert.assertEquals(0, redGame.cycleAll(Arrays.asList()).size());
+
+        try {
+            redGame.cycleAll(null);
+            Assert.fail("Expecting an exception");
+        } catch (IllegalArgumentException iae) {
+            // do nothing, expecting an exception
+        }
+    }
+
+    @Test
+    public void betHooksTest() {
+
+        // 4 is black, so the bet on black wins and the bet on red loses
+        HookPlayer player = new HookPlayer(table);
+        Player modern = new Passenger57(table, 100, 10);
+        Assert.assertTrue(player.usesBetHooks());
+        Assert.assertFalse(modern.usesBetHooks());
+
+        game.cycle(player);
+        Assert.assertEquals(1, player.wins);
+        Assert.assertEquals(1, player.losses);
+        Assert.assertEquals(100 - 15 + 20, player.getStake());
+
+        game.cycleAll(Arrays.asList(player, modern));
+        Assert.assertEquals(2, player.wins);
+        Assert.assertEquals(2, player.losses);
+        Assert.assertEquals(100 + 10, player.getStake());
+        Assert.assertEquals(101, modern.getStake());
+    }
+
+    /**
+     * Player that still overrides the per bet hooks
+     */
+    private static class HookPlayer extends Player {
+
+        private int wins;
+
+        private int losses;
+
+        HookPlayer(Table table) {
+            super(table, 100, 10);
+        }
+
+        @Override
+        public void placeBets() {
+            tryPlaceBet(10, Wheel.getOutcome("Black"));
+            tryPlaceBet(5, Wheel.getOutcome("Red"));
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public void win(Bet bet) {
+            wins++;
+            super.win(bet);
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public void lose(Bet bet) {
+            losses++;
+            super.lose(bet);
+        }
+    }
 }
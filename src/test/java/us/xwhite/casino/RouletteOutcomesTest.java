@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public class RouletteOutcomesTest {
+
+    @Test
+    public void outcomesMatchWheelTest() {
+
+        Assert.assertSame(Wheel.getOutcome("Red"), RouletteOutcomes.RED);
+        Assert.assertSame(Wheel.getOutcome("Black"), RouletteOutcomes.BLACK);
+        Assert.assertSame(Wheel.getOutcome("Even"), RouletteOutcomes.EVEN);
+        Assert.assertSame(Wheel.getOutcome("Odd"), RouletteOutcomes.ODD);
+        Assert.assertSame(Wheel.getOutcome("High"), RouletteOutcomes.HIGH);
+        Assert.assertSame(Wheel.getOutcome("Low"), RouletteOutcomes.LOW);
+        Assert.assertSame(Wheel.getOutcome("Dozen: 1"), RouletteOutcomes.DOZEN_1);
+        Assert.assertSame(Wheel.getOutcome("Dozen: 3"), RouletteOutcomes.DOZEN_3);
+        Assert.assertSame(Wheel.getOutcome("Column: 2"), RouletteOutcomes.COLUMN_2);
+    }
+
+    @Test
+    public void outcomesInBinsTest() {
+
+        Assert.assertTrue(Wheel.getBin(1).contains(RouletteOutcomes.RED));
+        Assert.assertTrue(Wheel.getBin(2).contains(RouletteOutcomes.BLACK));
+        Assert.assertTrue(Wheel.getBin(13).contains(RouletteOutcomes.DOZEN_2));
+        Assert.assertTrue(Wheel.getBin(3).contains(RouletteOutcomes.COLUMN_3));
+        Assert.assertFalse(Wheel.getBin(0).contains(RouletteOutcomes.COLUMN_1));
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public class RunningStatisticsTest {
+
+    @Test
+    public void addTest() {
+
+        RunningStatistics statistics = new RunningStatistics();
+        for (int value : new int[]{9, 8, 5, 9, 9, 4, 5, 8, 10, 7, 8, 8}) {
+            statistics.add(value);
+        }
+
+        Assert.assertEquals(12, statistics.getCount());
+        Assert.assertEquals(90, statistics.getSum());
+        Assert.assertEquals(7.5, statistics.getMean(), 1e-12);
+        Assert.assertEquals(39.0 / 11, statistics.getVariance(), 1e-12);
+        Assert.assertEquals(1.88, statistics.getStandardDeviation(), 0.005);
+        Assert.assertEquals(4, statistics.getMin());
+        Assert.assertEquals(10, statistics.getMax());
+
+        RunningStatistics copy = new RunningStatistics(statistics);
+        copy.add(100);
+        Assert.assertEquals(12, statistics.getCount());
+        Assert.assertEquals(100, copy.getMax());
+    }
+
+    @Test
+    public void largeValuesTest() {
+
+        // values whose sum overflows an int and whose spread is small next
+        // to their size
+        RunningStatistics statistics = new RunningStatistics();
+        for (int i = 0; i < 1000; i++) {
+            statistics.add(Integer.MAX_VALUE - (i % 2));
+        }
+
+        Assert.assertEquals(Integer.MAX_VALUE - 0.5, statistics.getMean(), 1e-6);
+        Assert.assertEquals(0.25 * 1000 / 999, statistics.getVariance(), 1e-9);
+    }
+
+    @Test
+    public void emptyTest() {
+
+        RunningStatistics statistics = new RunningStatistics();
+        statistics.add(3);
+        Assert.assertEquals(3.0, statistics.getMean(), 0.0);
+
+        try {
+            statistics.getVariance();
+            Assert.fail("Expecting an exception");
+        } catch (IllegalStateException ise) {
+            // do nothing, expecting an exception
+        }
+
+        try {
+            new RunningStatistics().getMax();
+            Assert.fail("Expecting an exception");
+        } catch (IllegalStateException ise) {
+            // do nothing, expecting an exception
+        }
+    }
+
+    @Test
+    public void mergeTest() {
+
+        RunningStatistics all = new RunningStatistics();
+        RunningStatistics[] shards = {new RunningStatistics(), new RunningStatistics(), new RunningStatistics()};
+        for (int i = 0; i < 1000; i++) {
+            int value = (i * 7919) % 1013 - 300;
+            all.add(value);
+            shards[i % 3].add(value);
+        }
+
+        RunningStatistics merged = new RunningStatistics();
+        merged.merge(shards[2]);
+        merged.merge(new RunningStatistics());
+        shards[0].merge(shards[1]);
+        merged.merge(shards[0]);
+
+        Assert.assertEquals(all.getCount(), merged.getCount());
+        Assert.assertEquals(all.getSum(), merged.getSum());
+        Assert.assertEquals(all.getMean(), merged.getMean(), 0.0);
+        Assert.assertEquals(all.getVariance(), merged.getVariance(), 1e-9);
+        Assert.assertEquals(all.getMin(), merged.getMin());
+        Assert.assertEquals(all.getMax(), merged.getMax());
+
+        try {
+            merged.merge(null);
+            Assert.fail("Expecting an exception");
+        } catch (IllegalArgumentException iae) {
+            // do nothing, expecting an exception
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public class SecureRandomSourceTest {
+
+    @Test
+    public void drawsInOrderTest() throws Exception {
+
+        SecureRandom expected = SecureRandom.getInstance("SHA1PRNG");
+        expected.setSeed(42L);
+        SecureRandom seeded = SecureRandom.getInstance("SHA1PRNG");
+        seeded.setSeed(42L);
+
+        // a small ring forces the producer to wrap around and wait
+        byte[] bytes = new byte[Long.BYTES];
+        try (SecureRandomSource source = new SecureRandomSource(seeded, 8)) {
+            for (int i = 0; i < 5000; i++) {
+                expected.nextBytes(bytes);
+                Assert.assertEquals(ByteBuffer.wrap(bytes).getLong(), source.nextLong());
+            }
+        }
+    }
+
+    @Test
+    public void resumesAfterIdleTest() throws Exception {
+
+        SecureRandom expected = SecureRandom.getInstance("SHA1PRNG");
+        expected.setSeed(7L);
+        SecureRandom seeded = SecureRandom.getInstance("SHA1PRNG");
+        seeded.setSeed(7L);
+
+        // the producer fills the ring and parks while the consumer is idle,
+        // and must be woken once values are drawn again
+        byte[] bytes = new byte[Long.BYTES];
+        try (SecureRandomSource source = new SecureRandomSource(seeded, 1)) {
+            for (int round = 0; round < 3; round++) {
+                Thread.sleep(20);
+                for (int i = 0; i < 100; i++) {
+                    expected.nextBytes(bytes);
+                    Assert.assertEquals(ByteBuffer.wrap(bytes).getLong(), source.nextLong());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void intHalvesTest() throws Exception {
+
+        SecureRandom expected = SecureRandom.getInstance("SHA1PRNG");
+        expected.setSeed(11L);
+        SecureRandom seeded = SecureRandom.getInstance("SHA1PRNG");
+        seeded.setSeed(11L);
+
+        byte[] bytes = new byte[Long.BYTES];
+        try (SecureRandomSource source = new SecureRandomSource(seeded, 8)) {
+
+            // each value from the ring gives two ints, high half first
+            expected.nextBytes(bytes);
+            long value = ByteBuffer.wrap(bytes).getLong();
+            Assert.assertEquals((int) (value >>> 32), source.nextInt());
+            Assert.assertEquals((int) value, source.nextInt());
+
+            // a power of two bound never rejects, so each int is the top bits
+            // of one half
+            int[] buffer = new int[3];
+            source.nextInts(buffer, 1 << 16);
+            expected.nextBytes(bytes);
+            value = ByteBuffer.wrap(bytes).getLong();
+            Assert.assertEquals((int) (value >>> 48), buffer[0]);
+            Assert.assertEquals((int) ((value >>> 16) & 0xFFFF), buffer[1]);
+            expected.nextBytes(bytes);
+            value = ByteBuffer.wrap(bytes).getLong();
+            Assert.assertEquals((int) (value >>> 48), buffer[2]);
+            Assert.assertEquals((int) value, source.nextInt());
+        }
+    }
+
+    @Test
+    public void wheelTest() {
+
+        try (SecureRandomSource source = new SecureRandomSource()) {
+            Wheel wheel = new Wheel.WheelBuilder().source(source).build();
+            int[] spins = new int[1000];
+            wheel.nextSpins(spins);
+            for (int spin : spins) {
+                Assert.assertTrue(spin >= 0 && spin < Wheel.MAX_BINS);
+            }
+            Assert.assertNotNull(wheel.next());
+        }
+    }
+
+    @Test
+    public void closeTest() {
+
+        SecureRandomSource source = new SecureRandomSource();
+        source.nextLong();
+        source.close();
+
+        try {
+            source.nextLong();
+            Assert.fail("Expecting an exception");
+        } catch (IllegalStateException ise) {
+            // do nothing, expecting an exception
+        }
+    }
+
+    @Test
+    public void constructorExceptionTest() {
+
+        try {
+            new SecureRandomSource(null, 8);
+            Assert.fail("Expecting an exception");
+        } catch (IllegalArgumentException iae) {
+            // do nothing, expecting an exception
+        }
+
+        try {
+            new SecureRandomSource(new SecureRandom(), 12);
+            Assert.fail("Expecting an exception");
+        } catch (IllegalArgumentException iae) {
+            // do nothing, expecting an exception
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public class SimulatorTest {
+
+    private final Supplier<Game> gameFactory = () -> {
+        Random rng = new NonRandom();
+        rng.setSeed(4);
+        return new RouletteGame(new Wheel.WheelBuilder().rng(rng).build(), new Table(75));
+    };
+
+    @Test
+    public void gatherTest() {
+
+        Simulator simulator = new Simulator(gameFactory.get(), Player.Type.Passenger57);
+        simulator.gather();
+
+        Assert.assertEquals(Simulator.SAMPLES, simulator.getDurations().size());
+        Assert.assertEquals(Simulator.SAMPLES, simulator.getMaxima().size());
+        Assert.assertEquals(Simulator.SAMPLES, simulator.getFinalStakes().size());
+
+        // 4 is always black, so the player wins every round
+        Assert.assertEquals(Integer.valueOf(Simulator.INIT_DURATION), simulator.getDurations().get(0));
+        Assert.assertEquals(Integer.valueOf(Simulator.INIT_STAKE + Simulator.INIT_DURATION), simulator.getFinalStakes().get(0));
+        Assert.assertEquals(Integer.valueOf(Simulator.INIT_STAKE + Simulator.INIT_DURATION), simulator.getMaxima().get(0));
+
+        // a second gather adds to the results
+        simulator.gather();
+        Assert.assertEquals(2 * Simulator.SAMPLES, simulator.getDurations().size());
+        Assert.assertEquals(2 * Simulator.SAMPLES, simulator.getFinalStakeValues().length);
+        Assert.assertEquals(Simulator.INIT_DURATION, simulator.getDurationValues()[Simulator.SAMPLES]);
+    }
+
+    @Test
+    public void gatherParallelTest() {
+
+        Simulator sequential = new Simulator(gameFactory, Player.Type.Martingale, 101);
+        sequential.gather();
+
+        Simulator parallel = new Simulator(gameFactory, Player.Type.Martingale, 101);
+        parallel.gather(4);
+
+        Assert.assertEquals(101, parallel.getDurations().size());
+        Assert.assertEquals(sequential.getDurations(), parallel.getDurations());
+        Assert.assertEquals(sequential.getMaxima(), parallel.getMaxima());
+        Assert.assertEquals(sequential.getFinalStakes(), parallel.getFinalStakes());
+    }
+
+    @Test
+    public void gatherSeededTest() {
+
+        LongFunction<Game> seededFactory = (seed) -> new RouletteGame(
+                new Wheel.WheelBuilder().rng(new Random(seed)).build(), new Table(75));
+
+        Simulator sequential = new Simulator(seededFactory, Player.Type.Martingale, 101, 1234L);
+        sequential.gather();
+
+        Simulator parallel = new Simulator(seededFactory, Player.Type.Martingale, 101, 1234L);
+        parallel.gather(3);
+
+        Assert.assertEquals(1234L, parallel.getMasterSeed());
+        Assert.assertEquals(sequential.getDurations(), parallel.getDurations());
+        Assert.assertEquals(sequential.getMaxima(), parallel.getMaxima());
+        Assert.assertEquals(sequential.getFinalStakes(), parallel.getFinalStakes());
+        Assert.assertEquals(IntegerStatistics.MEAN.apply(parallel.getDurations()),
+                parallel.getDurationStatistics().getMean(), 1e-9);
+        Assert.assertEquals(IntegerStatistics.STANDARD_DEVIATION.apply(parallel.getFinalStakes()),
+                parallel.getFinalStakeStatistics().getStandardDeviation(), 1e-9);
+        Assert.assertEquals((int) Collections.max(parallel.getMaxima()), parallel.getMaximaStatistics().getMax());
+        Assert.assertEquals((int) IntegerStatistics.NTH_PERCENTILE.apply(new ArrayList<>(parallel.getDurations()), 50),
+                parallel.getDurationSketch().getPercentile(50), 3.0);
+
+        List<Integer> replay = parallel.replay(57);
+        Assert.assertEquals(parallel.getFinalStakes().get(57), replay.get(replay.size() - 1));
+        Assert.assertEquals(parallel.getDurations().get(57), Integer.valueOf(replay.size() - 1));
+        Assert.assertEquals(parallel.getMaximaValues()[57], (int) Collections.max(replay));
+    }
+
+    @Test
+    public void replayWithoutSeedTest() {
+
+        try {
+            new Simulator(gameFactory, Player.Type.Martingale, 1).replay(0);
+            Assert.fail("Expecting an exception");
+        } catch (IllegalStateException ise) {
+            // do nothing, expecting an exception
+        }
+    }
+
+    @Test
+    public void gatherParallelSharedGameTest() {
+
+        Simulator simulator = new Simulator(gameFactory.get(), Player.Type.Martingale);
+
+        try {
+            simulator.gather(2);
+            Assert.fail("Expecting an exception");
+        } catch (IllegalStateException ise) {
+            // do nothing, expecting an exception
+        }
+
+        try {
+            simulator.gather(0);
+            Assert.fail("Expecting an exception");
+        } catch (IllegalArgumentException iae) {
+            // do nothing, expecting an exception
+        }
+    }
+}
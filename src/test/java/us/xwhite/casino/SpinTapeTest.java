@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2018, Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package us.xwhite.casino;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Joel Crosswhite <joel.crosswhite@ix.netcom.com>
+ */
+public class SpinTapeTest {
+
+    private static final int SPINS = 10_001;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static Wheel seededWheel() {
+        return new Wheel.WheelBuilder().source(new Xoroshiro128PlusPlus(42L)).build();
+    }
+
+    private Path recordTape() throws IOException {
+        Path path = folder.newFile("spins.tape").toPath();
+        SpinTape.record(seededWheel(), SPINS, path);
+        return path;
+    }
+
+    @Test
+    public void recordTest() throws IOException {
+
+        Path path = recordTape();
+
+        // 16 byte header and three bytes for every four spins
+        Assert.assertEquals(16 + (SPINS + 3) / 4 * 3, Files.size(path));
+
+        SpinTape tape = SpinTape.open(path);
+        Assert.assertEquals(SPINS, tape.size());
+
+        Wheel expected = seededWheel();
+        for (int i = 0; i < SPINS; i++) {
+            Assert.assertEquals(expected.spin(), tape.get(i));
+        }
+    }
+
+    @Test
+    public void recordDrawsOnlySpinsTest() throws IOException {
+
+        Wheel wheel = seededWheel();
+        SpinTape.record(wheel, SPINS, folder.newFile("first.tape").toPath());
+
+        // the wheel carries on right after the recorded spins
+        Wheel expected = seededWheel();
+        for (int i = 0; i < SPINS; i++) {
+            expected.spin();
+        }
+        Assert.assertEquals(expected.spin(), wheel.spin());
+
+        // a tape can be recorded again from a wheel replaying all of it
+        SpinTape tape = SpinTape.open(recordTape());
+        Path copy = folder.newFile("copy.tape").toPath();
+        SpinTape.record(new Wheel.WheelBuilder().spins(tape.cursor()).build(), SPINS, copy);
+        Assert.assertEquals(tape.get(SPINS - 1), SpinTape.open(copy).get(SPINS - 1));
+    }
+
+    @Test
+    public void replayTest() throws IOException {
+
+        SpinTape tape = SpinTape.open(recordTape());
+        Wheel replay = new Wheel.WheelBuilder().spins(tape.cursor(3)).build();
+
+        int[] buffer = new int[1001];
+        replay.nextSpins(buffer);
+        for (int i = 0; i < buffer.length; i++) {
+            Assert.assertEquals(tape.get(3 + i), buffer[i]);
+        }
+        Assert.assertEquals(tape.get(3 + buffer.length), replay.spin());
+    }
+
+    @Test
+    public void exhaustedTest() throws IOException {
+
+        SpinTape tape = SpinTape.open(recordTape());
+        SpinSource cursor = tape.cursor(SPINS - 1);
+        cursor.nextSpin();
+
+        try {
+            cursor.nextSpin();
+            Assert.fail("Expecting an exception");
+        } catch (IllegalStateException ise) {
+            // do nothing, expecting an exception
+        }
+
+        try {
+            tape.get(SPINS);
+            Assert.fail("Expecting an exception");
+        } catch (IndexOutOfBoundsException ioobe) {
+            // do nothing, expecting an exception
+        }
+    }
+
+    @Test
+    public void openExceptionTest() throws IOException {
+
+        Path path = folder.newFile("not.tape").toPath();
+        Files.write(path, new byte[]{1, 2, 3});
+
+        try {
+            SpinTape.open(path);
+            Assert.fail("Expecting an exception");
+        } catch (IllegalArgumentException iae) {
+            // do nothing, expecting an exception
+        }
+    }
+}
@@ -129,6 +129,124 @@ public class TableTest {
         }
     }
     
+    @Test
+    public void clearBetsResetsLimitTest() {
+
+        Player player = Mockito.mock(Player.class);
+        Bet bet = new Bet(100, new Outcome("Test outcome 1", RouletteGame.EVEN_MONEY_BET_ODDS), player);
+
+        try {
+            table.placeBet(bet);
+        } catch (InvalidBetException ibe) {
+            Assert.fail("Not expecting any exceptions");
+        }
+        Assert.assertFalse(table.isValid(new Bet(1, new Outcome("Test outcome 2", RouletteGame.EVEN_MONEY_BET_ODDS), player)));
+
+        table.clearBets();
+        Assert.assertFalse(table.iterator().hasNext());
+        Assert.assertEquals(0, table.getPortfolio(player).getTotal());
+
+        try {
+            table.placeBet(bet);
+        } catch (InvalidBetException ibe) {
+            Assert.fail("Not expecting any exceptions");
+        }
+    }
+
+    @Test
+    public void placeBetWithoutBetObjectTest() throws InvalidBetException {
+
+        Player player = Mockito.mock(Player.class);
+        Outcome outcome = new Outcome("Test outcome 1", RouletteGame.EVEN_MONEY_BET_ODDS);
+
+        table.placeBet(40, outcome, player);
+        table.placeBet(60, outcome, player);
+
+        try {
+            table.placeBet(1, outcome, player);
+            Assert.fail("Expecting an exception");
+        } catch (InvalidBetException ibe) {
+            // Legitimate exception here
+        }
+
+        BetStore bets = table.getBets();
+        Assert.assertEquals(2, bets.size());
+        Assert.assertEquals(40, bets.getAmount(0));
+        Assert.assertEquals(outcome.getId(), bets.getOutcomeId(1));
+        Assert.assertSame(player, table.getPlayer(bets.getSeat(1)));
+        Assert.assertEquals(100, table.getPortfolio(player).getTotal());
+        Assert.assertSame(table.getPortfolio(player), table.getPortfolio(bets.getSeat(1)));
+
+        Bet bet = table.iterator().next();
+        Assert.assertEquals(40, bet.loseAmount());
+        Assert.assertEquals(outcome, bet.getOutcome());
+        Assert.assertSame(player, bet.getPlayer());
+    }
+
+    @Test
+    public void tryPlaceBetTest() {
+
+        Bet bet = new Bet(60, new Outcome("Test outcome 1", RouletteGame.EVEN_MONEY_BET_ODDS), Mockito.mock(Player.class));
+
+        Assert.assertEquals(BetStatus.INVALID, table.tryPlaceBet(null));
+        Assert.assertEquals(BetStatus.INVALID, table.tryPlaceBet(0, bet.getOutcome(), bet.getPlayer()));
+        Assert.assertEquals(BetStatus.INVALID, table.tryPlaceBet(1, null, bet.getPlayer()));
+        Assert.assertEquals(BetStatus.INVALID, table.tryPlaceBet(1, bet.getOutcome(), null));
+        Assert.assertEquals(BetStatus.ACCEPTED, table.tryPlaceBet(bet));
+        Assert.assertEquals(BetStatus.OVER_LIMIT, table.tryPlaceBet(bet));
+        Assert.assertEquals(BetStatus.OVER_LIMIT, table.tryPlaceBet(41, bet.getOutcome(), bet.getPlayer()));
+        Assert.assertEquals(BetStatus.ACCEPTED, table.tryPlaceBet(40, bet.getOutcome(), bet.getPlayer()));
+
+        table.clearBets();
+        Bet smallBet = new Bet(1, bet.getOutcome(), bet.getPlayer());
+        Assert.assertEquals(BetStatus.ACCEPTED, table.tryPlaceBet(smallBet));
+        Assert.assertEquals(BetStatus.DUPLICATE, table.tryPlaceBet(smallBet));
+
+        // a bet can be placed again once the table is cleared, and at
+        // another table in the same spin
+        table.clearBets();
+        Assert.assertEquals(BetStatus.ACCEPTED, table.tryPlaceBet(smallBet));
+        Assert.assertEquals(BetStatus.ACCEPTED, new Table(100).tryPlaceBet(smallBet));
+    }
+
+    @Test
+    public void seatsReleasedTest() throws InvalidBetException {
+
+        Player player = Mockito.mock(Player.class);
+        Outcome outcome = new Outcome("Test outcome 1", RouletteGame.EVEN_MONEY_BET_ODDS);
+
+        // looking up a portfolio does not seat the player
+        Assert.assertTrue(table.getPortfolio(player).isEmpty());
+        Assert.assertEquals(0, table.getSeatCount());
+
+        for (int i = 0; i < 10; i++) {
+            Player next = Mockito.mock(Player.class);
+            table.placeBet(10, outcome, next);
+            table.placeBet(10, outcome, player);
+            Assert.assertEquals(2, table.getSeatCount());
+            Assert.assertEquals(0, table.getBettingSeat(0));
+            Assert.assertEquals(1, table.getBettingSeat(1));
+
+            // the new player takes the idle seat, and the other player keeps
+            // their seat
+            Assert.assertSame(next, table.getPlayer(0));
+            Assert.assertSame(player, table.getPlayer(1));
+            Assert.assertEquals(10, table.getPortfolio(player).getTotal());
+
+            table.clearBets();
+            Assert.assertEquals(0, table.getSeatCount());
+            Assert.assertTrue(table.getPortfolio(next).isEmpty());
+            Assert.assertTrue(table.getPortfolio(1).isEmpty());
+        }
+
+        try {
+            table.getPlayer(2);
+            Assert.fail("Expecting an exception");
+        } catch (IndexOutOfBoundsException ioobe) {
+            // do nothing, expecting an exception
+        }
+    }
+
     @Test
     public void iteratorTest() {
         Assert.assertNotNull(table.iterator());
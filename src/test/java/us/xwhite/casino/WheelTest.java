@@ -25,6 +25,7 @@
  */
 package us.xwhite.casino;
 
+import java.util.Arrays;
 import java.util.Random;
 import org.junit.Assert;
 import org.junit.Before;
@@ -54,6 +55,39 @@ public class WheelTest {
         Assert.assertTrue(wheel.next().contains(Wheel.getOutcome(Integer.toString(seed))));
     }
     
+    @Test
+    public void spinTest() {
+
+        Assert.assertEquals(seed, wheel.spin());
+        Assert.assertSame(Wheel.getBin(seed), Wheel.getBin(wheel.spin()));
+        Assert.assertTrue(Wheel.getBin(wheel.spin()).contains(Wheel.getOutcome(Integer.toString(seed))));
+    }
+
+    @Test
+    public void coverageTest() {
+
+        Assert.assertEquals(1L << 37, Wheel.getCoverage(Wheel.getOutcome("00")));
+        Assert.assertEquals((1L << 1) | (1L << 2), Wheel.getCoverage(Wheel.getOutcome("Split: 1, 2")));
+        Assert.assertEquals(0L, Wheel.getCoverage(new Outcome("Not a valid outcome", 17)));
+
+        for (int bin = 0; bin < Wheel.MAX_BINS; bin++) {
+            for (Outcome outcome : Wheel.getOutcomes()) {
+                Assert.assertEquals(Wheel.getBin(bin).contains(outcome), Wheel.isWinner(outcome, bin));
+            }
+        }
+    }
+
+    @Test
+    public void getBinIsReadOnlyTest() {
+
+        try {
+            Wheel.getBin(seed).add(new Outcome("Not a valid outcome", 17));
+            Assert.fail("Expecting an exception");
+        } catch (UnsupportedOperationException uoe) {
+            // do nothing, expecting an exception
+        }
+    }
+
     @Test
     public void verifyOutcomeCannotBeAddedTest() {
         
@@ -76,6 +110,19 @@ public class WheelTest {
         }
     }
 
+    @Test
+    public void getOutcomesTest() {
+
+        Assert.assertTrue(Wheel.getOutcomes().contains(Wheel.getOutcome("00")));
+
+        try {
+            Wheel.getOutcomes().clear();
+            Assert.fail("Expecting an exception");
+        } catch (UnsupportedOperationException uoe) {
+            // do nothing, expecting an exception
+        }
+    }
+
     @Test
     public void createNewWheelTest() {
 
@@ -103,4 +150,55 @@ public class WheelTest {
             // do nothing, expecting an exception
         }
     }
+
+    @Test
+    public void nextSpinsTest() {
+
+        Wheel seeded = new Wheel.WheelBuilder().source(new Xoroshiro128PlusPlus(42L)).build();
+        int[] spins = new int[1000];
+        seeded.nextSpins(spins);
+
+        Wheel replay = new Wheel.WheelBuilder().source(new Xoroshiro128PlusPlus(42L)).build();
+        for (int spin : spins) {
+            Assert.assertTrue(spin >= 0 && spin < Wheel.MAX_BINS);
+            Assert.assertEquals(spin, replay.spin());
+        }
+
+        try {
+            seeded.nextSpins(null);
+            Assert.fail("Expecting an exception");
+        } catch (IllegalArgumentException iae) {
+            // do nothing, expecting an exception
+        }
+    }
+
+    @Test
+    public void weightedWheelTest() {
+
+        double[] weights = new double[Wheel.MAX_BINS];
+        Arrays.fill(weights, 1.0);
+        weights[17] = 3.0;
+        Wheel biased = new Wheel.WheelBuilder().source(new Xoroshiro128PlusPlus(42L)).weights(weights).build();
+
+        Assert.assertEquals(3.0 / 40.0, biased.getProbability(17), 1e-12);
+        Assert.assertEquals(1.0 / 40.0, biased.getProbability(0), 1e-12);
+        Assert.assertEquals(1.0 / Wheel.MAX_BINS, wheel.getProbability(17), 1e-12);
+
+        int[] spins = new int[40000];
+        biased.nextSpins(spins);
+        int hits = 0;
+        for (int spin : spins) {
+            if (spin == 17) {
+                hits++;
+            }
+        }
+        Assert.assertEquals(3000, hits, 300);
+
+        try {
+            new Wheel.WheelBuilder().weights(1.0, 2.0);
+            Assert.fail("Expecting an exception");
+        } catch (IllegalArgumentException iae) {
+            // do nothing, expecting an exception
+        }
+    }
 }
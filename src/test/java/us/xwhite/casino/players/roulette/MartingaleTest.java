@@ -32,7 +32,7 @@ import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import us.xwhite.casino.Bet;
-import us.xwhite.casino.InvalidBetException;
+import us.xwhite.casino.Outcome;
 import us.xwhite.casino.Player;
 import us.xwhite.casino.Simulator;
 import us.xwhite.casino.Table;
@@ -58,63 +58,107 @@ public class MartingaleTest {
     }
     
     @Test
-    public void placeBetsTest() throws InvalidBetException {
-        
-        ArgumentCaptor<Bet> betCaptor = ArgumentCaptor.forClass(Bet.class);
+    public void placeBetsTest() {
         
         player.placeBets();
 
-        Mockito.verify(table, Mockito.times(1)).placeBet(betCaptor.capture());
-        Bet bet = betCaptor.getValue();
+        Bet bet = verifyBetPlaced(1);
         Assert.assertEquals(bet.getOutcome(), Wheel.getOutcome(Wheel.BinBuilder.BETS.getString("bet.black")));
         Assert.assertEquals(1, bet.loseAmount());
     }
     
     @Test
-    public void winTest() throws InvalidBetException {
-        
-        ArgumentCaptor<Bet> betCaptor = ArgumentCaptor.forClass(Bet.class);
+    public void winTest() {
         
         player.placeBets();
 
-        Mockito.verify(table, Mockito.times(1)).placeBet(betCaptor.capture());
-        Bet bet = betCaptor.getValue();
+        Bet bet = verifyBetPlaced(1);
         Assert.assertEquals(1, bet.loseAmount());
         
-        player.lose(bet);
+        player.settle(0);
         player.placeBets();
-        Mockito.verify(table, Mockito.times(2)).placeBet(betCaptor.capture());
-        bet = betCaptor.getValue();
+        bet = verifyBetPlaced(2);
         Assert.assertEquals(2, bet.loseAmount());
         
-        player.win(bet);
+        player.settle(bet.winAmount());
         player.placeBets();
-        Mockito.verify(table, Mockito.times(3)).placeBet(betCaptor.capture());
-        bet = betCaptor.getValue();
+        bet = verifyBetPlaced(3);
         Assert.assertEquals(1, bet.loseAmount());
     }
     
     @Test
-    public void loseTest() throws InvalidBetException {
-        
-        ArgumentCaptor<Bet> betCaptor = ArgumentCaptor.forClass(Bet.class);
+    public void loseTest() {
         
         player.placeBets();
 
-        Mockito.verify(table, Mockito.times(1)).placeBet(betCaptor.capture());
-        Bet bet = betCaptor.getValue();
+        Bet bet = verifyBetPlaced(1);
         Assert.assertEquals(1, bet.loseAmount());
         
-        player.lose(bet);
+        player.settle(0);
         player.placeBets();
-        Mockito.verify(table, Mockito.times(2)).placeBet(betCaptor.capture());
-        bet = betCaptor.getValue();
+        bet = verifyBetPlaced(2);
         Assert.assertEquals(2, bet.loseAmount());
         
-        player.lose(bet);
+        player.settle(0);
         player.placeBets();
-        Mockito.verify(table, Mockito.times(3)).placeBet(betCaptor.capture());
-        bet = betCaptor.getValue();
+        bet = verifyBetPlaced(3);
         Assert.assertEquals(4, bet.loseAmount());
     }
+
+    @Test
+    public void settleTest() {
+
+        player.placeBets();
+        player.settle(0);
+        player.placeBets();
+        Bet bet = verifyBetPlaced(2);
+        Assert.assertEquals(2, bet.loseAmount());
+
+        player.settle(bet.winAmount());
+        Assert.assertEquals(Simulator.INIT_STAKE + 1, player.getStake());
+        player.placeBets();
+        bet = verifyBetPlaced(3);
+        Assert.assertEquals(1, bet.loseAmount());
+    }
+
+    @Test
+    public void tableLimitTest() {
+
+        table = Mockito.spy(new Table(3));
+        player = new Martingale(table, Simulator.INIT_STAKE, Simulator.INIT_DURATION);
+
+        player.placeBets();
+        Bet bet = verifyBetPlaced(1);
+        player.settle(0);
+        table.clearBets();
+
+        player.placeBets();
+        bet = verifyBetPlaced(2);
+        Assert.assertEquals(2, bet.loseAmount());
+        player.settle(0);
+        table.clearBets();
+
+        // a bet of 4 is over the limit, so the player falls back to 2
+        player.placeBets();
+        Mockito.verify(table, Mockito.times(1)).tryPlaceBet(Mockito.eq(4), Mockito.any(Outcome.class), Mockito.eq(player));
+        bet = verifyBetPlaced(4);
+        Assert.assertEquals(2, bet.loseAmount());
+        Assert.assertTrue(player.playing());
+    }
+
+    /**
+     * Verify the number of bets the player has tried to place, and get the
+     * last one
+     *
+     * @param times Number of bets the player should have tried to place
+     * @return The last bet the player tried to place
+     */
+    private Bet verifyBetPlaced(int times) {
+
+        ArgumentCaptor<Integer> amountCaptor = ArgumentCaptor.forClass(Integer.class);
+        ArgumentCaptor<Outcome> outcomeCaptor = ArgumentCaptor.forClass(Outcome.class);
+
+        Mockito.verify(table, Mockito.times(times)).tryPlaceBet(amountCaptor.capture(), outcomeCaptor.capture(), Mockito.eq(player));
+        return new Bet(amountCaptor.getValue(), outcomeCaptor.getValue(), player);
+    }
 }
@@ -31,8 +31,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
-import us.xwhite.casino.Bet;
-import us.xwhite.casino.InvalidBetException;
+import us.xwhite.casino.Outcome;
 import us.xwhite.casino.Player;
 import us.xwhite.casino.Simulator;
 import us.xwhite.casino.Table;
@@ -58,14 +57,14 @@ public class Passenger57Test {
     }
     
     @Test
-    public void placeBetsTest() throws InvalidBetException {
+    public void placeBetsTest() {
         
-        ArgumentCaptor<Bet> betCaptor = ArgumentCaptor.forClass(Bet.class);
+        ArgumentCaptor<Outcome> outcomeCaptor = ArgumentCaptor.forClass(Outcome.class);
         
         player.placeBets();
 
-        Mockito.verify(table, Mockito.times(1)).placeBet(betCaptor.capture());
-        Bet bet = betCaptor.getValue();
-        Assert.assertEquals(bet.getOutcome(), Wheel.getOutcome(Wheel.BinBuilder.BETS.getString("bet.black")));
+        Mockito.verify(table, Mockito.times(1)).tryPlaceBet(Mockito.eq(1), outcomeCaptor.capture(), Mockito.eq(player));
+        Assert.assertEquals(outcomeCaptor.getValue(), Wheel.getOutcome(Wheel.BinBuilder.BETS.getString("bet.black")));
+        Assert.assertEquals(Simulator.INIT_STAKE - 1, player.getStake());
     }
 }
@@ -35,7 +35,6 @@ import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import us.xwhite.casino.Bet;
-import us.xwhite.casino.InvalidBetException;
 import us.xwhite.casino.Outcome;
 import us.xwhite.casino.Player;
 import us.xwhite.casino.Simulator;
@@ -66,58 +65,87 @@ public class SevenRedsTest {
     }
 
     @Test
-    public void placeBetsTest() throws InvalidBetException {
+    public void placeBetsTest() {
 
         player.placeBets();
 
-        Mockito.verify(table, Mockito.times(0)).placeBet(Mockito.any(Bet.class));
+        Mockito.verify(table, Mockito.times(0)).tryPlaceBet(Mockito.anyInt(), Mockito.any(Outcome.class), Mockito.any(Player.class));
     }
 
     @Test
-    public void winnersTest() throws InvalidBetException {
+    public void winnersTest() {
 
         Set<Outcome> blackOutcomes = new HashSet<>(Arrays.asList(Wheel.getOutcome("Black")));
-        ArgumentCaptor<Bet> betCaptor = ArgumentCaptor.forClass(Bet.class);
-
         player.placeBets();
-        Mockito.verify(table, Mockito.times(0)).placeBet(Mockito.any(Bet.class));
+        Mockito.verify(table, Mockito.times(0)).tryPlaceBet(Mockito.anyInt(), Mockito.any(Outcome.class), Mockito.any(Player.class));
 
         winRedSevenTimes(player);
         player.placeBets();
-        Mockito.verify(table, Mockito.times(1)).placeBet(betCaptor.capture());
-        Bet bet = betCaptor.getValue();
+        Bet bet = verifyBetPlaced(1);
         Assert.assertEquals(bet.getOutcome(), Wheel.getOutcome(Wheel.BinBuilder.BETS.getString("bet.black")));
         Assert.assertEquals(1, bet.loseAmount());
         
         // assume the player won the first round
-        player.win(bet);
+        player.settle(bet.winAmount());
         player.winners(redOutcomes);
 
         player.placeBets();
-        Mockito.verify(table, Mockito.times(2)).placeBet(betCaptor.capture());
-        bet = betCaptor.getValue();
+        bet = verifyBetPlaced(2);
         Assert.assertEquals(bet.getOutcome(), Wheel.getOutcome(Wheel.BinBuilder.BETS.getString("bet.black")));
         Assert.assertEquals(1, bet.loseAmount());
 
         // assume the player lost the second round
-        player.lose(bet);
+        player.settle(0);
         player.winners(blackOutcomes);
 
         // should not have placed any bets
         player.placeBets();
-        Mockito.verify(table, Mockito.times(2)).placeBet(Mockito.any(Bet.class));
+        Mockito.verify(table, Mockito.times(2)).tryPlaceBet(Mockito.anyInt(), Mockito.any(Outcome.class), Mockito.any(Player.class));
         
         // waits patiently for their turn
         winRedSevenTimes(player);
         
         // now strike - using martingale system
         player.placeBets();
-        Mockito.verify(table, Mockito.times(3)).placeBet(betCaptor.capture());
-        bet = betCaptor.getValue();
+        bet = verifyBetPlaced(3);
         Assert.assertEquals(bet.getOutcome(), Wheel.getOutcome(Wheel.BinBuilder.BETS.getString("bet.black")));
         Assert.assertEquals(2, bet.loseAmount());
     }
 
+    /**
+     * Verify the number of bets the player has tried to place, and get the
+     * last one
+     *
+     * @param times Number of bets the player should have tried to place
+     * @return The last bet the player tried to place
+     */
+    private Bet verifyBetPlaced(int times) {
+
+        ArgumentCaptor<Integer> amountCaptor = ArgumentCaptor.forClass(Integer.class);
+        ArgumentCaptor<Outcome> outcomeCaptor = ArgumentCaptor.forClass(Outcome.class);
+
+        Mockito.verify(table, Mockito.times(times)).tryPlaceBet(amountCaptor.capture(), outcomeCaptor.capture(), Mockito.eq(player));
+        return new Bet(amountCaptor.getValue(), outcomeCaptor.getValue(), player);
+    }
+
+    @Test
+    public void winnersByBinTest() {
+
+        // 1 is red and 2 is black
+        for (int i = 0; i < 6; i++) {
+            player.winners(1);
+        }
+        player.placeBets();
+        Mockito.verify(table, Mockito.times(0)).tryPlaceBet(Mockito.anyInt(), Mockito.any(Outcome.class), Mockito.any(Player.class));
+
+        player.winners(2);
+        for (int i = 0; i < 7; i++) {
+            player.winners(1);
+        }
+        player.placeBets();
+        verifyBetPlaced(1);
+    }
+
     private void winRedSevenTimes(Player player) {
 
         for (int i = 0; i < 7; i++) {
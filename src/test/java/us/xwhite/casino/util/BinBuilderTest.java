@@ -25,20 +25,16 @@
  */
 package us.xwhite.casino.util;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Random;
-import java.util.Set;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import us.xwhite.casino.Bin;
 import us.xwhite.casino.Wheel;
-import us.xwhite.casino.Wheel.WheelBuilder;
 
 /**
  *
@@ -46,31 +42,13 @@ import us.xwhite.casino.Wheel.WheelBuilder;
  */
 public class BinBuilderTest {
 
-    private Wheel wheel;
-
-    private Field outcomesField;
-    
-    private Method wheelGetMethod;
+    private Bin[] bins;
 
     private Map<String, Method> binBuilderMethods;
 
     @Before
     public void setUp() {
 
-        // bypassing the singleton instantiator so we can test creating the bins
-        WheelBuilder builder = new Wheel.WheelBuilder().rng(new Random());
-        for (Constructor<?> wheelConstructor : Wheel.class.getDeclaredConstructors()) {
-            if (wheelConstructor.getParameterCount() == 1 && wheelConstructor.getParameterTypes()[0].equals(WheelBuilder.class)) {
-                wheelConstructor.setAccessible(true);
-                try {
-                    wheel = (Wheel) wheelConstructor.newInstance(builder);
-                } catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
-                    Assert.fail("Not expecting any exceptions");
-                }
-                break;
-            }
-        }
-
         // allow access to bin builder methods
         binBuilderMethods = new HashMap<>();
         try {
@@ -82,168 +60,164 @@ public class BinBuilderTest {
             Assert.fail("Could not find Wheel.BinBuilder class");
         }
 
-        // using reflection to inspect the container - need more detailed
-        // information than I'm willing to expose through the containing object
         try {
-            outcomesField = Bin.class.getDeclaredField("outcomes");
-        } catch (NoSuchFieldException | SecurityException ex) {
+            bins = (Bin[]) binBuilderMethods.get("newBins").invoke(null);
+        } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
             Assert.fail("Not expecting any exceptions");
         }
-        outcomesField.setAccessible(true);
-        
-        try {
-            for (Method method : Class.forName("us.xwhite.casino.Wheel").getDeclaredMethods()) {
-                if (method.getName().equals("get")) {
-                    method.setAccessible(true);
-                    wheelGetMethod = method;
-                }
-            }
-        } catch (ClassNotFoundException ex) {
-            Assert.fail("Could not find Wheel.get method");
-        }
     }
 
     @Test
     public void buildBinsTest() throws IllegalAccessException, InvocationTargetException {
+
+        List<?> builtBins = null;
         try {
-            binBuilderMethods.get("buildBins").invoke(this, wheel);
+            builtBins = (List<?>) binBuilderMethods.get("buildBins").invoke(null);
         } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
             Assert.fail("Not expecting any exceptions");
         }
 
-        Assert.assertEquals(1, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 0))).size());
-        Assert.assertEquals(11, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 1))).size());
-        Assert.assertEquals(14, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 4))).size());
-        Assert.assertEquals(17, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 17))).size());
-        Assert.assertEquals(11, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 36))).size());
-        Assert.assertEquals(1, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 37))).size());
+        Assert.assertEquals(Wheel.MAX_BINS, builtBins.size());
+        Assert.assertEquals(1, ((Bin) builtBins.get(0)).getOutcomes().size());
+        Assert.assertEquals(11, ((Bin) builtBins.get(1)).getOutcomes().size());
+        Assert.assertEquals(14, ((Bin) builtBins.get(4)).getOutcomes().size());
+        Assert.assertEquals(17, ((Bin) builtBins.get(17)).getOutcomes().size());
+        Assert.assertEquals(11, ((Bin) builtBins.get(36)).getOutcomes().size());
+        Assert.assertEquals(1, ((Bin) builtBins.get(37)).getOutcomes().size());
+
+        try {
+            builtBins.clear();
+            Assert.fail("Expecting an exception");
+        } catch (UnsupportedOperationException uoe) {
+            // do nothing, expecting an exception
+        }
     }
 
     @Test
     public void generateStraightBetsTest() throws IllegalAccessException, InvocationTargetException {
         try {
-            binBuilderMethods.get("generateStraightBets").invoke(this, wheel);
+            binBuilderMethods.get("generateStraightBets").invoke(null, (Object) bins);
         } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
             Assert.fail("Not expecting any exceptions");
         }
 
-        Assert.assertEquals(1, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 0))).size());
-        Assert.assertEquals(1, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 1))).size());
-        Assert.assertEquals(1, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 4))).size());
-        Assert.assertEquals(1, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 17))).size());
-        Assert.assertEquals(1, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 36))).size());
-        Assert.assertEquals(1, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 37))).size());
+        Assert.assertEquals(1, bins[0].getOutcomes().size());
+        Assert.assertEquals(1, bins[1].getOutcomes().size());
+        Assert.assertEquals(1, bins[4].getOutcomes().size());
+        Assert.assertEquals(1, bins[17].getOutcomes().size());
+        Assert.assertEquals(1, bins[36].getOutcomes().size());
+        Assert.assertEquals(1, bins[37].getOutcomes().size());
     }
 
     @Test
     public void generateSplitBetsTest() throws IllegalAccessException, InvocationTargetException {
         try {
-            binBuilderMethods.get("generateSplitBets").invoke(this, wheel);
+            binBuilderMethods.get("generateSplitBets").invoke(null, (Object) bins);
         } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
             Assert.fail("Not expecting any exceptions");
         }
 
-        Assert.assertEquals(0, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 0))).size());
-        Assert.assertEquals(2, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 1))).size());
-        Assert.assertEquals(3, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 4))).size());
-        Assert.assertEquals(4, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 17))).size());
-        Assert.assertEquals(2, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 36))).size());
-        Assert.assertEquals(0, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 37))).size());
+        Assert.assertEquals(0, bins[0].getOutcomes().size());
+        Assert.assertEquals(2, bins[1].getOutcomes().size());
+        Assert.assertEquals(3, bins[4].getOutcomes().size());
+        Assert.assertEquals(4, bins[17].getOutcomes().size());
+        Assert.assertEquals(2, bins[36].getOutcomes().size());
+        Assert.assertEquals(0, bins[37].getOutcomes().size());
     }
 
     @Test
     public void generateStreetBetsTest() throws IllegalAccessException, InvocationTargetException {
         try {
-            binBuilderMethods.get("generateStreetBets").invoke(this, wheel);
+            binBuilderMethods.get("generateStreetBets").invoke(null, (Object) bins);
         } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
             Assert.fail("Not expecting any exceptions");
         }
 
-        Assert.assertEquals(0, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 0))).size());
-        Assert.assertEquals(1, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 1))).size());
-        Assert.assertEquals(1, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 4))).size());
-        Assert.assertEquals(1, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 17))).size());
-        Assert.assertEquals(1, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 36))).size());
-        Assert.assertEquals(0, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 37))).size());
+        Assert.assertEquals(0, bins[0].getOutcomes().size());
+        Assert.assertEquals(1, bins[1].getOutcomes().size());
+        Assert.assertEquals(1, bins[4].getOutcomes().size());
+        Assert.assertEquals(1, bins[17].getOutcomes().size());
+        Assert.assertEquals(1, bins[36].getOutcomes().size());
+        Assert.assertEquals(0, bins[37].getOutcomes().size());
     }
 
     @Test
     public void generateConerBetsTest() throws IllegalAccessException, InvocationTargetException {
         try {
-            binBuilderMethods.get("generateConerBets").invoke(this, wheel);
+            binBuilderMethods.get("generateConerBets").invoke(null, (Object) bins);
         } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
             Assert.fail("Not expecting any exceptions");
         }
 
-        Assert.assertEquals(0, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 0))).size());
-        Assert.assertEquals(1, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 1))).size());
-        Assert.assertEquals(2, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 4))).size());
-        Assert.assertEquals(4, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 17))).size());
-        Assert.assertEquals(1, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 36))).size());
-        Assert.assertEquals(0, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 37))).size());
+        Assert.assertEquals(0, bins[0].getOutcomes().size());
+        Assert.assertEquals(1, bins[1].getOutcomes().size());
+        Assert.assertEquals(2, bins[4].getOutcomes().size());
+        Assert.assertEquals(4, bins[17].getOutcomes().size());
+        Assert.assertEquals(1, bins[36].getOutcomes().size());
+        Assert.assertEquals(0, bins[37].getOutcomes().size());
     }
 
     @Test
     public void generateLineBetsTest() throws IllegalAccessException, InvocationTargetException {
         try {
-            binBuilderMethods.get("generateLineBets").invoke(this, wheel);
+            binBuilderMethods.get("generateLineBets").invoke(null, (Object) bins);
         } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
             Assert.fail("Not expecting any exceptions");
         }
 
-        Assert.assertEquals(0, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 0))).size());
-        Assert.assertEquals(1, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 1))).size());
-        Assert.assertEquals(2, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 4))).size());
-        Assert.assertEquals(2, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 17))).size());
-        Assert.assertEquals(1, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 36))).size());
-        Assert.assertEquals(0, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 37))).size());
+        Assert.assertEquals(0, bins[0].getOutcomes().size());
+        Assert.assertEquals(1, bins[1].getOutcomes().size());
+        Assert.assertEquals(2, bins[4].getOutcomes().size());
+        Assert.assertEquals(2, bins[17].getOutcomes().size());
+        Assert.assertEquals(1, bins[36].getOutcomes().size());
+        Assert.assertEquals(0, bins[37].getOutcomes().size());
     }
 
     @Test
     public void generateDozenBetsTest() throws IllegalAccessException, InvocationTargetException {
         try {
-            binBuilderMethods.get("generateDozenBets").invoke(this, wheel);
+            binBuilderMethods.get("generateDozenBets").invoke(null, (Object) bins);
         } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
             Assert.fail("Not expecting any exceptions");
         }
 
-        Assert.assertEquals(0, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 0))).size());
-        Assert.assertEquals(1, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 1))).size());
-        Assert.assertEquals(1, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 4))).size());
-        Assert.assertEquals(1, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 17))).size());
-        Assert.assertEquals(1, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 36))).size());
-        Assert.assertEquals(0, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 37))).size());
+        Assert.assertEquals(0, bins[0].getOutcomes().size());
+        Assert.assertEquals(1, bins[1].getOutcomes().size());
+        Assert.assertEquals(1, bins[4].getOutcomes().size());
+        Assert.assertEquals(1, bins[17].getOutcomes().size());
+        Assert.assertEquals(1, bins[36].getOutcomes().size());
+        Assert.assertEquals(0, bins[37].getOutcomes().size());
     }
 
     @Test
     public void generateColumnBetsTest() throws IllegalAccessException, InvocationTargetException {
         try {
-            binBuilderMethods.get("generateColumnBets").invoke(this, wheel);
+            binBuilderMethods.get("generateColumnBets").invoke(null, (Object) bins);
         } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
             Assert.fail("Not expecting any exceptions");
         }
 
-        Assert.assertEquals(0, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 0))).size());
-        Assert.assertEquals(1, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 1))).size());
-        Assert.assertEquals(1, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 4))).size());
-        Assert.assertEquals(1, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 17))).size());
-        Assert.assertEquals(1, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 36))).size());
-        Assert.assertEquals(0, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 37))).size());
+        Assert.assertEquals(0, bins[0].getOutcomes().size());
+        Assert.assertEquals(1, bins[1].getOutcomes().size());
+        Assert.assertEquals(1, bins[4].getOutcomes().size());
+        Assert.assertEquals(1, bins[17].getOutcomes().size());
+        Assert.assertEquals(1, bins[36].getOutcomes().size());
+        Assert.assertEquals(0, bins[37].getOutcomes().size());
     }
 
     @Test
     public void generateEvenMoneyBetsTest() throws IllegalAccessException, InvocationTargetException {
         try {
-            binBuilderMethods.get("generateEvenMoneyBets").invoke(this, wheel);
+            binBuilderMethods.get("generateEvenMoneyBets").invoke(null, (Object) bins);
         } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
             Assert.fail("Not expecting any exceptions");
         }
 
-        Assert.assertEquals(0, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 0))).size());
-        Assert.assertEquals(3, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 1))).size());
-        Assert.assertEquals(3, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 4))).size());
-        Assert.assertEquals(3, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 17))).size());
-        Assert.assertEquals(3, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 36))).size());
-        Assert.assertEquals(0, ((Set) outcomesField.get(wheelGetMethod.invoke(wheel, 37))).size());
+        Assert.assertEquals(0, bins[0].getOutcomes().size());
+        Assert.assertEquals(3, bins[1].getOutcomes().size());
+        Assert.assertEquals(3, bins[4].getOutcomes().size());
+        Assert.assertEquals(3, bins[17].getOutcomes().size());
+        Assert.assertEquals(3, bins[36].getOutcomes().size());
+        Assert.assertEquals(0, bins[37].getOutcomes().size());
     }
 }